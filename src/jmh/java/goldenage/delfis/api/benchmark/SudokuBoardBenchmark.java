@@ -0,0 +1,54 @@
+/*
+ * Classe SudokuBoardBenchmark
+ * Benchmark das checagens do tabuleiro de Sudoku
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.benchmark;
+
+import goldenage.delfis.api.mongo.model.Sudoku;
+import goldenage.delfis.api.mongo.model.SudokuDifficulty;
+import goldenage.delfis.api.mongo.model.SudokuGenerator;
+import goldenage.delfis.api.mongo.model.SudokuType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SudokuBoardBenchmark {
+    @Param({"SIXBYSIX", "NINEBYNINE", "TWELVEBYTWELVE", "SIXTEENBYSIXTEEN"})
+    public SudokuType type;
+
+    private Sudoku puzzle;
+
+    // semente fixa: todas as execuções medem o mesmo tabuleiro
+    @Setup
+    public void setup() {
+        puzzle = SudokuGenerator.generateSeededSudoku(type, SudokuDifficulty.MEDIUM, 42);
+    }
+
+    // todas as jogadas possíveis do tabuleiro, cada valor em cada célula
+    @Benchmark
+    public void isValidMove(Blackhole blackhole) {
+        String[] values = puzzle.getValidValues();
+        for (int r = 0; r < puzzle.getNumRows(); r++) {
+            for (int c = 0; c < puzzle.getNumColumns(); c++) {
+                for (String value : values) {
+                    blackhole.consume(puzzle.isValidMove(r, c, value));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean boardFull() {
+        return puzzle.boardFull();
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Classe SudokuGeneratorBenchmark
+ * Benchmark da geração de Sudokus
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.benchmark;
+
+import goldenage.delfis.api.mongo.model.Sudoku;
+import goldenage.delfis.api.mongo.model.SudokuGenerator;
+import goldenage.delfis.api.mongo.model.SudokuType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SudokuGeneratorBenchmark {
+    @Param({"SIXBYSIX", "NINEBYNINE", "TWELVEBYTWELVE", "SIXTEENBYSIXTEEN"})
+    public SudokuType type;
+
+    @Benchmark
+    public Sudoku generateRandomSudoku() {
+        return SudokuGenerator.generateRandomSudoku(type);
+    }
+}
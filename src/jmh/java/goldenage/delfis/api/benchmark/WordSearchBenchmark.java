@@ -0,0 +1,54 @@
+/*
+ * Classe WordSearchBenchmark
+ * Benchmark da geração e da checagem de caça-palavras
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.benchmark;
+
+import goldenage.delfis.api.mongo.model.WordSearch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WordSearchBenchmark {
+    private static final List<String> WORDS = List.of(
+            "JAVA", "SPRING", "MONGO", "REDIS", "SUDOKU", "DELFIS", "PALAVRA", "DESAFIO", "LOGICA", "MEMORIA",
+            "JOGO", "ENIGMA", "GRADE", "LETRA", "BUSCA", "PISTA", "RESPOSTA", "TABULEIRO", "CAMINHO", "SOLUCAO");
+
+    @Param({"10", "15", "20", "50", "100"})
+    public int gridSize;
+
+    @Param({"5", "10", "20"})
+    public int wordCount;
+
+    private List<String> words;
+    private WordSearch wordSearch;
+    private String word;
+
+    @Setup
+    public void setup() {
+        words = WORDS.subList(0, wordCount);
+        wordSearch = WordSearch.fromSeed(gridSize, words, 42);
+        word = words.get(0);
+    }
+
+    @Benchmark
+    public WordSearch generate() {
+        return new WordSearch(gridSize, words);
+    }
+
+    // pior caso: a palavra não está na posição, então testa as seis direções
+    @Benchmark
+    public boolean isWordCorrect() {
+        return wordSearch.isWordCorrect(gridSize / 2, gridSize / 2, word);
+    }
+}
@@ -37,6 +37,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/app-user/insert").hasRole("UNLOGGED")
                         .requestMatchers("/api/address/insert").hasRole("UNLOGGED")
                         .requestMatchers("/api/**").hasRole("APP-USER")
+                        .requestMatchers("/actuator/**").hasRole("APP-USER")
                 )
                 .formLogin(AbstractHttpConfigurer::disable)
                 .csrf(AbstractHttpConfigurer::disable)
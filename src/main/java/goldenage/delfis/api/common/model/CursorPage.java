@@ -0,0 +1,28 @@
+/*
+ * Classe CursorPage
+ * Página de uma listagem paginada por cursor
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.common.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Página de uma listagem. Para a próxima página, envie nextCursor no parâmetro cursor.")
+public class CursorPage<T> {
+    @Schema(description = "Itens da página, em ordem de ID")
+    private List<T> items;
+
+    @Schema(description = "Cursor da próxima página; nulo na última", example = "aTo1MA")
+    private String nextCursor;
+}
@@ -0,0 +1,79 @@
+/*
+ * Classe NdjsonExportService
+ * Exportação de listagens grandes em NDJSON
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.common.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Escreve um Stream de linhas como NDJSON (um objeto JSON por linha) direto na resposta, pelo gerador de
+ * streaming do Jackson. Só a linha atual fica em memória: as consultas de exportação leem com fetch size no
+ * cursor do Postgres e cada entidade é tirada do contexto de persistência antes de ser escrita.
+ */
+@Service
+public class NdjsonExportService {
+    // linhas entre cada flush para o cliente
+    private static final int FLUSH_EVERY = 500;
+
+    private final ObjectWriter objectWriter;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public NdjsonExportService(ObjectMapper objectMapper, EntityManager entityManager) {
+        this.objectMapper = objectMapper;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Escreve as linhas e fecha o Stream. Deve rodar dentro da transação que abriu o Stream.
+     *
+     * @return quantidade de linhas escritas.
+     */
+    public <T> long write(Stream<T> rows, OutputStream out) {
+        return write(rows, out, false);
+    }
+
+    /**
+     * Igual a write, para entidades JPA: cada uma sai do contexto de persistência assim que é lida.
+     */
+    public <T> long writeEntities(Stream<T> rows, OutputStream out) {
+        return write(rows, out, true);
+    }
+
+    private <T> long write(Stream<T> rows, OutputStream out, boolean detach) {
+        long count = 0;
+        try (rows; JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // a quebra de linha é escrita depois de cada objeto, no lugar do espaço padrão entre valores
+            generator.setRootValueSeparator(null);
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                if (detach) entityManager.detach(row);
+                objectWriter.writeValue(generator, row);
+                generator.writeRaw('\n');
+                if (++count % FLUSH_EVERY == 0) generator.flush();
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+}
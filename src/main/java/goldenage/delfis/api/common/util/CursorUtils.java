@@ -0,0 +1,106 @@
+/*
+ * Classe CursorUtils
+ * Funções para paginação por cursor
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.common.util;
+
+import goldenage.delfis.api.common.model.CursorPage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Paginação por chave (keyset): a página seguinte é "ID maior que o último da página anterior, em ordem de ID,
+ * limitado ao tamanho", que usa o índice da chave primária e custa o mesmo em qualquer página, ao contrário de
+ * OFFSET. O cursor é o último ID em base64 com um prefixo de tipo, para o cliente tratá-lo como opaco.
+ */
+public class CursorUtils {
+    public static final String DEFAULT_PAGE_SIZE = "50";
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final String LONG_PREFIX = "i:";
+    private static final String STRING_PREFIX = "s:";
+
+    /*
+     * Valida o tamanho de página pedido.
+     * */
+    public static void verifyPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE + ".");
+    }
+
+    /*
+     * @return ID depois do qual a página começa; 0 sem cursor (primeira página).
+     * */
+    public static long decodeLong(String cursor) {
+        String key = decode(cursor, LONG_PREFIX);
+        if (key == null) return 0;
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+    }
+
+    /*
+     * @return ID depois do qual a página começa; null sem cursor (primeira página).
+     * */
+    public static String decodeString(String cursor) {
+        return decode(cursor, STRING_PREFIX);
+    }
+
+    private static String decode(String cursor, String prefix) {
+        if (cursor == null || cursor.isBlank()) return null;
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+        if (!decoded.startsWith(prefix)) throw new IllegalArgumentException("Cursor inválido.");
+        return decoded.substring(prefix.length());
+    }
+
+    private static String encode(String prefix, String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((prefix + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+     * Monta a página a partir de uma busca feita com limite size + 1: o item a mais só indica que há próxima página.
+     *
+     * @return página com os itens; null se não há itens.
+     * */
+    public static <T> CursorPage<T> page(List<T> items, int size, Function<T, Long> id) {
+        if (items.isEmpty()) return null;
+        if (items.size() <= size) return new CursorPage<>(items, null);
+
+        List<T> pageItems = items.subList(0, size);
+        return new CursorPage<>(pageItems, encode(LONG_PREFIX, String.valueOf(id.apply(pageItems.get(size - 1)))));
+    }
+
+    /*
+     * Igual a page, para IDs de texto.
+     * */
+    public static <T> CursorPage<T> pageByString(List<T> items, int size, Function<T, String> id) {
+        if (items.isEmpty()) return null;
+        if (items.size() <= size) return new CursorPage<>(items, null);
+
+        List<T> pageItems = items.subList(0, size);
+        return new CursorPage<>(pageItems, encode(STRING_PREFIX, id.apply(pageItems.get(size - 1))));
+    }
+
+    /*
+     * Página lida por um índice à parte, em que alguns IDs podem não ter mais item: o cursor é a última chave lida
+     * do índice, e não a do último item encontrado, para a página seguinte não repetir chaves nem parar antes do fim.
+     *
+     * @return página com os itens (vazia se nenhum existe mas o índice continua); null se não há itens nem próxima página.
+     * */
+    public static <T> CursorPage<T> pageByIndex(List<T> items, String lastKey, boolean hasMore) {
+        if (items.isEmpty() && !hasMore) return null;
+        return new CursorPage<>(items, hasMore ? encode(STRING_PREFIX, lastKey) : null);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Classe ExportUtils
+ * Funções para os endpoints de exportação
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.common.util;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * As exportações escrevem a resposta inteira fora da thread do container e podem passar do timeout padrão
+ * das requisições assíncronas. O prazo maior vai no WebAsyncTask de cada exportação, sem mudar o das outras.
+ */
+public class ExportUtils {
+    public static final long EXPORT_TIMEOUT_MILLIS = Duration.ofMinutes(30).toMillis();
+
+    /*
+     * Escreve a exportação em NDJSON direto na resposta, como anexo com o nome informado.
+     * */
+    public static WebAsyncTask<Void> ndjson(HttpServletResponse response, String filename, Consumer<OutputStream> writer) {
+        return new WebAsyncTask<>(EXPORT_TIMEOUT_MILLIS, () -> {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+            writer.accept(response.getOutputStream());
+            return null;
+        });
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * Classe MongoConfig
+ * Configuração das conversões do Mongo
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.config;
+
+import goldenage.delfis.api.mongo.converter.SudokuReadConverter;
+import goldenage.delfis.api.mongo.converter.SudokuWriteConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.List;
+
+@Configuration
+public class MongoConfig {
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(new SudokuWriteConverter(), new SudokuReadConverter()));
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Classe PuzzleBatchConfig
+ * Configuração da geração de puzzles em lote
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class PuzzleBatchConfig {
+    private static final int QUEUE_CAPACITY = 64;
+
+    /*
+     * Executor limitado com uma thread por núcleo (ou delfis.puzzle.batch.threads, se maior que zero).
+     * Se a fila lotar, quem chamou gera o bloco na própria thread, segurando novos lotes.
+     * */
+    @Bean
+    public ThreadPoolTaskExecutor puzzleBatchExecutor(@Value("${delfis.puzzle.batch.threads:0}") int threads) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(QUEUE_CAPACITY);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("puzzle-batch-");
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+}
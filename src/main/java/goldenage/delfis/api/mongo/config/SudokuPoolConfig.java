@@ -0,0 +1,34 @@
+/*
+ * Classe SudokuPoolConfig
+ * Configuração do estoque de Sudokus pré-gerados
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class SudokuPoolConfig {
+    private static final int QUEUE_CAPACITY = 8;
+
+    /*
+     * Executor limitado que gera os Sudokus do estoque fora das threads do Tomcat.
+     * Fila pequena: se lotar, a próxima verificação agendada tenta de novo.
+     * */
+    @Bean
+    public ThreadPoolTaskExecutor sudokuPoolExecutor(@Value("${delfis.sudoku.pool.threads:1}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("sudoku-pool-");
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+}
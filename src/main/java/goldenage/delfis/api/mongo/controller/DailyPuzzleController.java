@@ -0,0 +1,95 @@
+/*
+ * Classe DailyPuzzleController
+ * Controller dos puzzles do dia
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ */
+
+package goldenage.delfis.api.mongo.controller;
+
+import goldenage.delfis.api.mongo.model.Sudoku;
+import goldenage.delfis.api.mongo.model.SudokuMove;
+import goldenage.delfis.api.mongo.model.SudokuMoveResult;
+import goldenage.delfis.api.mongo.model.SudokuType;
+import goldenage.delfis.api.mongo.model.WordSearch;
+import goldenage.delfis.api.mongo.model.WordSearchSelection;
+import goldenage.delfis.api.mongo.model.WordSearchVerification;
+import goldenage.delfis.api.mongo.service.DailyPuzzleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/daily-puzzle")
+@Schema(description = "Controlador responsável pelos puzzles do dia")
+public class DailyPuzzleController {
+
+    private final DailyPuzzleService dailyPuzzleService;
+
+    public DailyPuzzleController(DailyPuzzleService dailyPuzzleService) {
+        this.dailyPuzzleService = dailyPuzzleService;
+    }
+
+    @GetMapping("/sudoku")
+    @Operation(summary = "Obter o Sudoku do dia", description = "Retorna o Sudoku do dia do tipo especificado, o mesmo para todos os usuários.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sudoku do dia", content = @Content(schema = @Schema(implementation = Sudoku.class)))
+    })
+    public ResponseEntity<Sudoku> getDailySudoku(
+            @Parameter(description = "Tipo do tabuleiro", example = "NINEBYNINE")
+            @RequestParam(name = "type", defaultValue = "NINEBYNINE") SudokuType type) {
+        return ResponseEntity.status(HttpStatus.OK).body(dailyPuzzleService.getDailySudoku(type));
+    }
+
+    @GetMapping("/word-search")
+    @Operation(summary = "Obter o caça-palavras do dia", description = "Retorna o caça-palavras do dia, o mesmo para todos os usuários.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Caça-palavras do dia", content = @Content(schema = @Schema(implementation = WordSearch.class)))
+    })
+    public ResponseEntity<WordSearch> getDailyWordSearch() {
+        return ResponseEntity.status(HttpStatus.OK).body(dailyPuzzleService.getDailyWordSearch());
+    }
+
+    @PostMapping("/sudoku/validate-moves")
+    @Operation(summary = "Validar jogadas no Sudoku do dia", description = "Valida uma ou várias jogadas contra a solução do Sudoku do dia " +
+            "do tipo especificado. As jogadas são aplicadas em ordem. Aceita o puzzle de hoje ou de ontem.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Jogadas validadas", content = @Content(array = @ArraySchema(schema = @Schema(implementation = SudokuMoveResult.class)))),
+            @ApiResponse(responseCode = "400", description = "Lote de jogadas ou data inválida", content = @Content)
+    })
+    public ResponseEntity<List<SudokuMoveResult>> validateDailyMoves(
+            @Parameter(description = "Tipo do tabuleiro", example = "NINEBYNINE")
+            @RequestParam(name = "type", defaultValue = "NINEBYNINE") SudokuType type,
+            @Parameter(description = "Dia do puzzle (padrão: hoje)", example = "2026-10-17")
+            @RequestParam(name = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Parameter(description = "Jogadas a validar, em ordem", required = true)
+            @RequestBody List<SudokuMove> moves) {
+        return ResponseEntity.status(HttpStatus.OK).body(dailyPuzzleService.validateDailyMoves(date, type, moves));
+    }
+
+    @PostMapping("/word-search/verify")
+    @Operation(summary = "Verificar seleção no caça-palavras do dia", description = "Verifica uma palavra (com a célula de início opcional), " +
+            "ou a seleção da primeira até a última letra, contra o gabarito do caça-palavras do dia. Aceita o puzzle de hoje ou de ontem.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Seleção verificada", content = @Content(schema = @Schema(implementation = WordSearchVerification.class))),
+            @ApiResponse(responseCode = "400", description = "Seleção ou data inválida", content = @Content)
+    })
+    public ResponseEntity<WordSearchVerification> verifyDailyWordSearch(
+            @Parameter(description = "Dia do puzzle (padrão: hoje)", example = "2026-10-17")
+            @RequestParam(name = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Parameter(description = "Palavra ou células de início e fim", required = true)
+            @RequestBody WordSearchSelection selection) {
+        return ResponseEntity.status(HttpStatus.OK).body(dailyPuzzleService.verifyDailyWordSearch(date, selection));
+    }
+}
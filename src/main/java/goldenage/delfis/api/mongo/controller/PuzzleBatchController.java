@@ -0,0 +1,71 @@
+/*
+ * Classe PuzzleBatchController
+ * Controller da geração de puzzles em lote
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ */
+
+package goldenage.delfis.api.mongo.controller;
+
+import goldenage.delfis.api.mongo.model.PuzzleBatchReport;
+import goldenage.delfis.api.mongo.model.SudokuDifficulty;
+import goldenage.delfis.api.mongo.model.SudokuType;
+import goldenage.delfis.api.mongo.service.PuzzleBatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/puzzle-batch")
+@Schema(description = "Controlador responsável pela geração de puzzles em lote")
+public class PuzzleBatchController {
+
+    private final PuzzleBatchService puzzleBatchService;
+
+    public PuzzleBatchController(PuzzleBatchService puzzleBatchService) {
+        this.puzzleBatchService = puzzleBatchService;
+    }
+
+    @PostMapping("/generate")
+    @Operation(summary = "Gerar puzzles em lote", description = "Gera em paralelo e salva N Sudokus e/ou N caça-palavras. " +
+            "A mesma semente gera os mesmos puzzles.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote gerado com sucesso", content = @Content(schema = @Schema(implementation = PuzzleBatchReport.class))),
+            @ApiResponse(responseCode = "409", description = "Parâmetros do lote inválidos", content = @Content)
+    })
+    public ResponseEntity<PuzzleBatchReport> generate(
+            @Parameter(description = "Quantidade de Sudokus", example = "1000")
+            @RequestParam(name = "sudokus", defaultValue = "0") int sudokuCount,
+            @Parameter(description = "Tipo dos Sudokus", example = "NINEBYNINE")
+            @RequestParam(name = "sudokuType", defaultValue = "SIXBYSIX") SudokuType sudokuType,
+            @Parameter(description = "Dificuldade pedida para os Sudokus; a real vem da classificação", example = "MEDIUM")
+            @RequestParam(name = "sudokuDifficulty", defaultValue = "EXPERT") SudokuDifficulty sudokuDifficulty,
+            @Parameter(description = "Quantidade de caça-palavras", example = "1000")
+            @RequestParam(name = "wordSearches", defaultValue = "0") int wordSearchCount,
+            @Parameter(description = "Tamanho do grid dos caça-palavras", example = "10")
+            @RequestParam(name = "gridSize", defaultValue = "10") int gridSize,
+            @Parameter(description = "Palavras dos caça-palavras")
+            @RequestParam(name = "words", required = false) List<String> wordList,
+            @Parameter(description = "Semente do lote; sem ela uma é sorteada", example = "4242")
+            @RequestParam(name = "seed", required = false) Long seed) {
+        if (sudokuCount < 0 || wordSearchCount < 0) throw new DataIntegrityViolationException("Quantidade negativa.");
+        if (sudokuCount + wordSearchCount == 0) throw new DataIntegrityViolationException("Lote vazio.");
+        if (sudokuCount + wordSearchCount > PuzzleBatchService.MAX_BATCH_SIZE)
+            throw new DataIntegrityViolationException("Máximo de " + PuzzleBatchService.MAX_BATCH_SIZE + " puzzles por lote.");
+        if (wordSearchCount > 0) {
+            if (wordList == null || wordList.isEmpty()) throw new DataIntegrityViolationException("Lista de palavras vazia.");
+            if (gridSize < 4) throw new DataIntegrityViolationException("Grid deve ser de no mínimo 4x4.");
+        }
+
+        return ResponseEntity.status(HttpStatus.OK).body(puzzleBatchService.generate(sudokuType, sudokuDifficulty, sudokuCount, gridSize, wordList, wordSearchCount, seed));
+    }
+}
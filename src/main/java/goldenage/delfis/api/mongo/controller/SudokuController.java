@@ -7,9 +7,15 @@
 
 package goldenage.delfis.api.mongo.controller;
 
+import goldenage.delfis.api.mongo.model.CompactSudoku;
 import goldenage.delfis.api.mongo.model.Sudoku;
+import goldenage.delfis.api.mongo.model.SudokuDifficulty;
+import goldenage.delfis.api.mongo.model.SudokuMove;
+import goldenage.delfis.api.mongo.model.SudokuMoveResult;
+import goldenage.delfis.api.mongo.model.SudokuType;
 import goldenage.delfis.api.mongo.service.SudokuService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -26,6 +32,7 @@ import java.util.List;
 @RequestMapping("/api/sudoku")
 @Schema(description = "Controlador responsável pela gestão de Sudokus")
 public class SudokuController {
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final SudokuService sudokuService;
 
@@ -39,35 +46,97 @@ public class SudokuController {
             @ApiResponse(responseCode = "200", description = "Lista de Sudokus encontrados", content = @Content(array = @ArraySchema(schema = @Schema(implementation = Sudoku.class)))),
             @ApiResponse(responseCode = "404", description = "Nenhum Sudoku encontrado", content = @Content)
     })
-    public ResponseEntity<List<Sudoku>> getSudokus() {
+    public ResponseEntity<?> getSudokus(
+            @Parameter(description = "Retorna os Sudokus na forma compacta", example = "true")
+            @RequestParam(name = "compact", defaultValue = "false") boolean compact) {
         List<Sudoku> sudokus = sudokuService.getSudokus();
         if (sudokus != null && !sudokus.isEmpty()) {
+            if (compact) return ResponseEntity.status(HttpStatus.OK).body(sudokus.stream().map(CompactSudoku::of).toList());
             return ResponseEntity.status(HttpStatus.OK).body(sudokus);
         }
         throw new EntityNotFoundException("Nenhum Sudoku encontrado.");
     }
 
     @PostMapping("/generate")
-    @Operation(summary = "Gerar um novo Sudoku", description = "Gera um novo Sudoku com o tipo especificado.")
+    @Operation(summary = "Gerar um novo Sudoku", description = "Entrega um Sudoku do estoque pré-gerado do tipo (padrão SIXBYSIX) e, opcionalmente, da dificuldade especificados.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Sudoku gerado com sucesso", content = @Content(schema = @Schema(implementation = Sudoku.class))),
+            @ApiResponse(responseCode = "404", description = "Nenhum Sudoku com a dificuldade pedida disponível no momento", content = @Content)
     })
-    public ResponseEntity<Sudoku> generateSudoku() {
-        return ResponseEntity.status(HttpStatus.OK).body(sudokuService.generateSudoku());
+    public ResponseEntity<?> generateSudoku(
+            @Parameter(description = "Tipo do tabuleiro", example = "NINEBYNINE")
+            @RequestParam(name = "type", defaultValue = "SIXBYSIX") SudokuType type,
+            @Parameter(description = "Dificuldade desejada", example = "MEDIUM")
+            @RequestParam(name = "difficulty", required = false) SudokuDifficulty difficulty,
+            @Parameter(description = "Retorna o Sudoku na forma compacta", example = "true")
+            @RequestParam(name = "compact", defaultValue = "false") boolean compact) {
+        Sudoku sudoku = sudokuService.generateSudoku(type, difficulty);
+        if (compact) return ResponseEntity.status(HttpStatus.OK).body(CompactSudoku.of(sudoku));
+        return ResponseEntity.status(HttpStatus.OK).body(sudoku);
+    }
+
+    @GetMapping("/get-by-seed/{code}")
+    @Operation(summary = "Obter Sudoku pela semente", description = "Gera de novo o Sudoku identificado pelo código da semente (tipo, versão do gerador, dificuldade alvo e semente).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sudoku gerado com sucesso", content = @Content(schema = @Schema(implementation = Sudoku.class))),
+            @ApiResponse(responseCode = "400", description = "Código inválido ou versão do gerador não suportada", content = @Content)
+    })
+    public ResponseEntity<?> getSudokuBySeed(
+            @Parameter(description = "Código da semente", example = "NINEBYNINE-2-HARD-3w5e11264sgsg", required = true)
+            @PathVariable String code,
+            @Parameter(description = "Retorna o Sudoku na forma compacta", example = "true")
+            @RequestParam(name = "compact", defaultValue = "false") boolean compact) {
+        Sudoku sudoku = sudokuService.getSudokuBySeed(code);
+        if (compact) return ResponseEntity.status(HttpStatus.OK).body(CompactSudoku.of(sudoku));
+        return ResponseEntity.status(HttpStatus.OK).body(sudoku);
+    }
+
+    @PostMapping("/validate-moves/{id}")
+    @Operation(summary = "Validar jogadas", description = "Valida uma ou várias jogadas contra a solução do Sudoku. " +
+            "As jogadas são aplicadas em ordem e cada uma é checada em tempo constante. Sudokus antigos sem solução única " +
+            "são validados só pelos conflitos, e as jogadas sem conflito voltam como VALID.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Jogadas validadas", content = @Content(array = @ArraySchema(schema = @Schema(implementation = SudokuMoveResult.class)))),
+            @ApiResponse(responseCode = "404", description = "Sudoku não encontrado", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Lote de jogadas inválido", content = @Content)
+    })
+    public ResponseEntity<List<SudokuMoveResult>> validateMoves(
+            @Parameter(description = "ID do Sudoku", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Jogadas a validar, em ordem", required = true)
+            @RequestBody List<SudokuMove> moves) {
+        return ResponseEntity.status(HttpStatus.OK).body(sudokuService.validateMoves(id, moves));
+    }
+
+    @PostMapping("/rate-unrated")
+    @Operation(summary = "Classificar Sudokus sem dificuldade", description = "Classifica em lote a dificuldade dos Sudokus salvos sem ela e retorna quantos foram classificados.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sudokus classificados com sucesso", content = @Content(schema = @Schema(implementation = Integer.class))),
+    })
+    public ResponseEntity<Integer> rateUnratedSudokus() {
+        return ResponseEntity.status(HttpStatus.OK).body(sudokuService.rateUnratedSudokus());
     }
 
     @GetMapping("/get-sudokus-with-most-filled-cells")
     @Operation(
             summary = "Buscar Sudokus com Mais Células Preenchidas",
-            description = "Retorna uma lista de Sudokus que têm a maior quantidade de células preenchidas. " +
+            description = "Retorna, paginados, os Sudokus que têm a maior quantidade de células preenchidas. " +
                     "Útil para encontrar tabuleiros mais completos."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Sudokus encontrados com sucesso.", content = @Content(array = @ArraySchema(schema = @Schema(implementation = Sudoku.class)))),
-            @ApiResponse(responseCode = "404", description = "Nenhum Sudoku encontrado.", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Nenhum Sudoku encontrado.", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Página ou tamanho inválidos.", content = @Content)
     })
-    public ResponseEntity<List<Sudoku>> findSudokusWithMostFilledCells() {
-        List<Sudoku> sudokus = sudokuService.findSudokusWithMostFilledCells();
+    public ResponseEntity<List<Sudoku>> findSudokusWithMostFilledCells(
+            @Parameter(description = "Número da página, a partir de 0", example = "0")
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @Parameter(description = "Tamanho da página (máximo " + MAX_PAGE_SIZE + ")", example = "20")
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("Página deve ser >= 0 e tamanho entre 1 e " + MAX_PAGE_SIZE + ".");
+
+        List<Sudoku> sudokus = sudokuService.findSudokusWithMostFilledCells(page, size);
         if (sudokus == null || sudokus.isEmpty())
             throw new EntityNotFoundException("Nenhum sudoku encontrado.");
 
@@ -7,9 +7,15 @@
 
 package goldenage.delfis.api.mongo.controller;
 
+import goldenage.delfis.api.mongo.model.WordFrequency;
 import goldenage.delfis.api.mongo.model.WordSearch;
+import goldenage.delfis.api.mongo.model.WordSearchBatchResult;
+import goldenage.delfis.api.mongo.model.WordSearchSelection;
+import goldenage.delfis.api.mongo.model.WordSearchVerification;
+import goldenage.delfis.api.mongo.service.WordFrequencyService;
 import goldenage.delfis.api.mongo.service.WordSearchService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -26,6 +32,7 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/word-search")
 public class WordSearchController {
+    private static final int MAX_THEMED_WORDS = 50;
 
     private final WordSearchService wordSearchService;
 
@@ -49,14 +56,109 @@ public class WordSearchController {
     @GetMapping("/get-occurrences-by-word/{word}")
     @Operation(summary = "Obter a contagem de ocorrências de uma palavra", description = "Retorna o número total de ocorrências da palavra especificada em todos os caça-palavras.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Contagem de ocorrências retornada com sucesso", content = @Content(schema = @Schema(implementation = Integer.class))),
+            @ApiResponse(responseCode = "200", description = "Contagem de ocorrências retornada com sucesso", content = @Content(schema = @Schema(implementation = Long.class))),
     })
-    public ResponseEntity<Integer> getOccurrencesByWord(@PathVariable String word) {
+    public ResponseEntity<Long> getOccurrencesByWord(@PathVariable String word) {
         return ResponseEntity.status(HttpStatus.OK).body(wordSearchService.countOccurrencesOfWord(word));
     }
 
+    @GetMapping("/get-most-used-words")
+    @Operation(summary = "Obter as palavras mais usadas", description = "Retorna as palavras que mais aparecem nos caça-palavras, da mais para a menos usada.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Palavras encontradas", content = @Content(array = @ArraySchema(schema = @Schema(implementation = WordFrequency.class)))),
+            @ApiResponse(responseCode = "404", description = "Nenhuma palavra encontrada", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Limite inválido", content = @Content)
+    })
+    public ResponseEntity<List<WordFrequency>> getMostUsedWords(
+            @Parameter(description = "Quantidade de palavras (máximo " + WordFrequencyService.MAX_TOP_WORDS + ")")
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        if (limit < 1 || limit > WordFrequencyService.MAX_TOP_WORDS)
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + WordFrequencyService.MAX_TOP_WORDS + ".");
+
+        List<WordFrequency> words = wordSearchService.getMostUsedWords(limit);
+        if (words != null) return ResponseEntity.status(HttpStatus.OK).body(words);
+
+        throw new EntityNotFoundException("Nenhuma palavra encontrada.");
+    }
+
+    @GetMapping("/get-by-seed")
+    @Operation(summary = "Obter caça-palavras pela semente", description = "Gera de novo o caça-palavras identificado pelo tamanho do grid, pelas palavras e pela semente.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Caça-palavras gerado com sucesso", content = @Content(schema = @Schema(implementation = WordSearch.class))),
+    })
+    public ResponseEntity<WordSearch> getWordSearchBySeed(
+            @RequestParam(name = "gridSize") int gridSize,
+            @RequestParam(name = "words") List<String> wordList,
+            @RequestParam(name = "seed") long seed) {
+        if (wordList == null || wordList.isEmpty()) throw new DataIntegrityViolationException("Lista de palavras vazia.");
+        if (gridSize < 3) throw new DataIntegrityViolationException("Grid deve ser de no mínimo 4x4.");
+
+        return ResponseEntity.status(HttpStatus.OK).body(wordSearchService.getWordSearchBySeed(gridSize, wordList, seed));
+    }
+
+    @PostMapping("/generate-by-theme/{themeId}")
+    @Operation(summary = "Gerar um caça-palavras de um tema", description = "Gera um novo caça-palavras sorteando as palavras do tema no dicionário, " +
+            "sem precisar enviar a lista. As palavras que não couberem no grid voltam em unplacedWords.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Caça-palavras gerado com sucesso", content = @Content(schema = @Schema(implementation = WordSearch.class))),
+            @ApiResponse(responseCode = "404", description = "Tema não encontrado", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Parâmetros inválidos", content = @Content)
+    })
+    public ResponseEntity<WordSearch> generateThemedWordSearch(
+            @Parameter(description = "ID do tema", required = true)
+            @PathVariable String themeId,
+            @RequestParam(name = "gridSize") int gridSize,
+            @Parameter(description = "Quantidade de palavras a sortear")
+            @RequestParam(name = "words", defaultValue = "8") int wordCount,
+            @Parameter(description = "Tamanho mínimo das palavras")
+            @RequestParam(name = "minLength", defaultValue = "3") int minLength,
+            @Parameter(description = "Tamanho máximo das palavras (limitado ao tamanho do grid)")
+            @RequestParam(name = "maxLength", defaultValue = "" + Integer.MAX_VALUE) int maxLength) {
+        if (gridSize < 3) throw new DataIntegrityViolationException("Grid deve ser de no mínimo 4x4.");
+        if (wordCount < 1 || wordCount > MAX_THEMED_WORDS)
+            throw new IllegalArgumentException("A quantidade de palavras deve estar entre 1 e " + MAX_THEMED_WORDS + ".");
+        if (minLength > maxLength) throw new IllegalArgumentException("O tamanho mínimo não pode ser maior que o máximo.");
+
+        WordSearch wordSearch = wordSearchService.generateThemedWordSearch(themeId, gridSize, wordCount, minLength, maxLength);
+        if (wordSearch == null) throw new EntityNotFoundException("Tema não encontrado.");
+        return ResponseEntity.status(HttpStatus.OK).body(wordSearch);
+    }
+
+    @PostMapping("/verify/{id}")
+    @Operation(summary = "Verificar seleção", description = "Verifica uma palavra (com a célula de início opcional), ou a seleção " +
+            "da primeira até a última letra, contra o gabarito salvo do caça-palavras, em tempo constante. Com as células, a palavra, se enviada, tem que ser a que está nelas.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Seleção verificada", content = @Content(schema = @Schema(implementation = WordSearchVerification.class))),
+            @ApiResponse(responseCode = "404", description = "Caça-palavras não encontrado", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Seleção inválida", content = @Content)
+    })
+    public ResponseEntity<WordSearchVerification> verify(
+            @Parameter(description = "ID do caça-palavras", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Palavra ou células de início e fim", required = true)
+            @RequestBody WordSearchSelection selection) {
+        return ResponseEntity.status(HttpStatus.OK).body(wordSearchService.verify(id, selection));
+    }
+
+    @PostMapping("/verify-batch/{id}")
+    @Operation(summary = "Verificar várias seleções", description = "Verifica um lote de seleções do mesmo caça-palavras numa requisição só, " +
+            "com o resultado de cada uma e a pontuação do lote. Palavras repetidas no lote pontuam uma vez.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Seleções verificadas", content = @Content(schema = @Schema(implementation = WordSearchBatchResult.class))),
+            @ApiResponse(responseCode = "404", description = "Caça-palavras não encontrado", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Lote de seleções inválido", content = @Content)
+    })
+    public ResponseEntity<WordSearchBatchResult> verifyBatch(
+            @Parameter(description = "ID do caça-palavras", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Seleções a verificar (máximo " + WordSearchService.MAX_SELECTIONS_PER_REQUEST + ")", required = true)
+            @RequestBody List<WordSearchSelection> selections) {
+        return ResponseEntity.status(HttpStatus.OK).body(wordSearchService.verifyBatch(id, selections));
+    }
+
     @PostMapping("/generate")
-    @Operation(summary = "Gerar um novo caça-palavras", description = "Gera um novo caça-palavras com o tamanho de grid especificado e a lista de palavras fornecida.")
+    @Operation(summary = "Gerar um novo caça-palavras", description = "Gera um novo caça-palavras com o tamanho de grid especificado e a lista de palavras fornecida. " +
+            "As palavras que não couberem no grid voltam em unplacedWords.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Caça-palavras gerado com sucesso", content = @Content(schema = @Schema(implementation = WordSearch.class))),
     })
@@ -0,0 +1,109 @@
+/*
+ * Classe WordThemeController
+ * Controller da entidade WordTheme
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.controller;
+
+import goldenage.delfis.api.mongo.model.WordTheme;
+import goldenage.delfis.api.mongo.service.WordThemeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/word-theme")
+public class WordThemeController {
+    private final WordThemeService wordThemeService;
+
+    public WordThemeController(WordThemeService wordThemeService) {
+        this.wordThemeService = wordThemeService;
+    }
+
+    @GetMapping("/get-all")
+    @Operation(summary = "Obter todos os temas de palavras", description = "Retorna uma lista de todos os temas do dicionário com as suas palavras.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de temas encontrada", content = @Content(array = @ArraySchema(schema = @Schema(implementation = WordTheme.class)))),
+            @ApiResponse(responseCode = "404", description = "Nenhum tema encontrado", content = @Content)
+    })
+    public ResponseEntity<List<WordTheme>> getWordThemes() {
+        List<WordTheme> wordThemes = wordThemeService.getWordThemes();
+        if (wordThemes != null) return ResponseEntity.status(HttpStatus.OK).body(wordThemes);
+
+        throw new EntityNotFoundException("Nenhum tema encontrado.");
+    }
+
+    @GetMapping("/get-by-id/{id}")
+    @Operation(summary = "Obter tema de palavras por ID", description = "Retorna o tema com o ID fornecido.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tema encontrado", content = @Content(schema = @Schema(implementation = WordTheme.class))),
+            @ApiResponse(responseCode = "404", description = "Nenhum tema encontrado", content = @Content)
+    })
+    public ResponseEntity<WordTheme> getWordThemeById(
+            @Parameter(description = "ID do tema a ser buscado", required = true)
+            @PathVariable String id) {
+        WordTheme wordTheme = wordThemeService.getWordThemeById(id);
+        if (wordTheme != null) return ResponseEntity.status(HttpStatus.OK).body(wordTheme);
+
+        throw new EntityNotFoundException("Nenhum tema encontrado com o ID fornecido.");
+    }
+
+    @PostMapping("/insert")
+    @Operation(summary = "Inserir um novo tema de palavras", description = "Cria um tema no dicionário. As palavras são salvas em maiúsculas, sem acentos e sem repetidas.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Tema criado com sucesso", content = @Content(schema = @Schema(implementation = WordTheme.class))),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos", content = @Content)
+    })
+    public ResponseEntity<WordTheme> insertWordTheme(
+            @Parameter(description = "Dados do novo tema", required = true)
+            @Valid @RequestBody WordTheme wordTheme) {
+        wordTheme.setId(null);
+        wordTheme.setName(wordTheme.getName().strip());
+        return ResponseEntity.status(HttpStatus.CREATED).body(wordThemeService.saveWordTheme(wordTheme));
+    }
+
+    @PutMapping("/update/{id}")
+    @Operation(summary = "Atualizar um tema de palavras", description = "Substitui os dados e as palavras de um tema baseado no ID.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tema atualizado com sucesso", content = @Content(schema = @Schema(implementation = WordTheme.class))),
+            @ApiResponse(responseCode = "404", description = "Tema não encontrado", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos", content = @Content)
+    })
+    public ResponseEntity<WordTheme> updateWordTheme(
+            @Parameter(description = "ID do tema a ser atualizado", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Novos dados do tema", required = true)
+            @Valid @RequestBody WordTheme wordTheme) {
+        if (wordThemeService.getWordThemeById(id) == null) throw new EntityNotFoundException("Tema não encontrado.");
+
+        wordTheme.setId(id);
+        wordTheme.setName(wordTheme.getName().strip());
+        return ResponseEntity.status(HttpStatus.OK).body(wordThemeService.saveWordTheme(wordTheme));
+    }
+
+    @DeleteMapping("/delete/{id}")
+    @Operation(summary = "Deletar um tema de palavras", description = "Remove um tema do dicionário baseado no ID. Caça-palavras já gerados com ele não mudam.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tema deletado com sucesso", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Tema não encontrado", content = @Content)
+    })
+    public ResponseEntity<String> deleteWordTheme(
+            @Parameter(description = "ID do tema a ser deletado", required = true)
+            @PathVariable String id) {
+        if (wordThemeService.deleteWordThemeById(id) == null) throw new EntityNotFoundException("Tema não encontrado.");
+        return ResponseEntity.status(HttpStatus.OK).body("Tema deletado com sucesso.");
+    }
+}
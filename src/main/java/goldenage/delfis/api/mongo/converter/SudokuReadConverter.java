@@ -0,0 +1,87 @@
+/*
+ * Classe SudokuReadConverter
+ * Converte o documento do Mongo para a entidade Sudoku
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.converter;
+
+import goldenage.delfis.api.mongo.model.Sudoku;
+import goldenage.delfis.api.mongo.model.SudokuCodec;
+import goldenage.delfis.api.mongo.model.SudokuDifficulty;
+import goldenage.delfis.api.mongo.model.SudokuGenerator;
+import goldenage.delfis.api.mongo.model.SudokuSeed;
+import goldenage.delfis.api.mongo.model.SudokuType;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+
+import java.util.List;
+
+/*
+ * Lê o formato por semente (gera o tabuleiro de novo, com cache), o compacto e também
+ * o formato antigo (board/mutable em arrays), enquanto a migração não terminou.
+ * */
+@ReadingConverter
+public class SudokuReadConverter implements Converter<Document, Sudoku> {
+    @Override
+    public Sudoku convert(Document source) {
+        String seed = source.getString("seed");
+        Sudoku sudoku = seed != null
+                ? SudokuGenerator.generateSeededSudoku(SudokuSeed.parse(seed))
+                : source.containsKey("board") ? readLegacy(source) : readCompact(source);
+
+        Object id = source.get("_id");
+        if (id != null) sudoku.setId(id instanceof ObjectId objectId ? objectId.toHexString() : id.toString());
+        sudoku.setPooled(source.getBoolean("pooled", false));
+
+        Binary solution = source.get("solution", Binary.class);
+        if (solution != null) sudoku.setSolution(SudokuCodec.unpackSolution(solution.getData(), sudoku.getNumRows() * sudoku.getNumColumns()));
+
+        String difficulty = source.getString("difficulty");
+        if (difficulty != null) {
+            sudoku.setDifficulty(SudokuDifficulty.valueOf(difficulty));
+            sudoku.setDifficultyScore(source.getInteger("difficultyScore", 0));
+        }
+        return sudoku;
+    }
+
+    private Sudoku readCompact(Document source) {
+        SudokuType type = SudokuType.valueOf(source.getString("type"));
+        Binary givens = source.get("givens", Binary.class);
+        return SudokuCodec.decode(type, source.getString("cells"), givens == null ? null : givens.getData());
+    }
+
+    private Sudoku readLegacy(Document source) {
+        SudokuType type = source.getString("type") != null
+                ? SudokuType.valueOf(source.getString("type"))
+                : typeOf(source.getInteger("ROWS", 0));
+
+        Sudoku sudoku = new Sudoku(type.getRows(), type.getColumns(), type.getBoxWidth(), type.getBoxHeight(), type.getValidValues());
+        sudoku.setType(type);
+
+        List<?> board = source.get("board", List.class);
+        List<?> mutable = source.get("mutable", List.class);
+        for (int r = 0; r < type.getRows(); r++) {
+            for (int c = 0; c < type.getColumns(); c++) {
+                sudoku.getBoard()[r][c] = cell(board, r, c) instanceof String value ? value : "";
+                if (mutable != null) sudoku.getMutable()[r][c] = Boolean.TRUE.equals(cell(mutable, r, c));
+            }
+        }
+        return sudoku;
+    }
+
+    private Object cell(List<?> rows, int r, int c) {
+        return rows.get(r) instanceof List<?> row ? row.get(c) : null;
+    }
+
+    private SudokuType typeOf(int rows) {
+        for (SudokuType type : SudokuType.values()) {
+            if (type.getRows() == rows) return type;
+        }
+        throw new IllegalArgumentException("Sudoku com tamanho desconhecido: " + rows);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Classe SudokuWriteConverter
+ * Converte a entidade Sudoku para o documento compacto do Mongo
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.converter;
+
+import goldenage.delfis.api.mongo.model.Sudoku;
+import goldenage.delfis.api.mongo.model.SudokuCodec;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.WritingConverter;
+
+/*
+ * Grava só o tipo, os metadados, o tabuleiro compactado e a solução em meio byte por célula.
+ * ROWS, COLUMNS, BOXWIDTH, BOXHEIGHT e VALIDVALUES saem do SudokuType na leitura.
+ * Sudokus gerados por semente guardam só o código da semente: o tabuleiro é gerado de novo na leitura.
+ * Nos dois formatos vai também filledCells (células preenchidas), indexado para as consultas de ranking.
+ * */
+@WritingConverter
+public class SudokuWriteConverter implements Converter<Sudoku, Document> {
+    @Override
+    public Document convert(Sudoku source) {
+        Document document = new Document();
+        if (source.getId() != null) {
+            document.put("_id", ObjectId.isValid(source.getId()) ? new ObjectId(source.getId()) : source.getId());
+        }
+        document.put("type", source.getType().name());
+        if (source.getDifficulty() != null) {
+            document.put("difficulty", source.getDifficulty().name());
+            document.put("difficultyScore", source.getDifficultyScore());
+        }
+        document.put("pooled", source.isPooled());
+        document.put("filledCells", countFilledCells(source));
+        if (source.getSeed() != null) {
+            document.put("seed", source.getSeed());
+            return document;
+        }
+        document.put("cells", SudokuCodec.encodeCells(source));
+        document.put("givens", new Binary(SudokuCodec.encodeGivens(source)));
+        if (source.getSolution() != null) document.put("solution", new Binary(SudokuCodec.packSolution(source.getSolution())));
+        return document;
+    }
+
+    private int countFilledCells(Sudoku source) {
+        int filled = 0;
+        for (String[] row : source.getBoard()) {
+            for (String value : row) {
+                if (value != null && !value.isEmpty()) filled++;
+            }
+        }
+        return filled;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Classe WordSearchSeedCallback
+ * Grava e lê caça-palavras gerados por semente sem o grid
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.converter;
+
+import goldenage.delfis.api.mongo.model.WordSearch;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertCallback;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveCallback;
+import org.springframework.stereotype.Component;
+
+/*
+ * Caça-palavras com semente vão para o Mongo só com tamanho, palavras, semente e versão do gerador
+ * (e unplacedWords, que a versão 3 usa para refazer a lista pedida); na leitura o grid e as posições das
+ * palavras são gerados de novo (com cache). Os antigos, sem semente, continuam com o grid salvo.
+ * */
+@Component
+public class WordSearchSeedCallback implements BeforeSaveCallback<WordSearch>, AfterConvertCallback<WordSearch> {
+    @Override
+    public WordSearch onBeforeSave(WordSearch entity, Document document, String collection) {
+        if (entity.getSeed() != null) {
+            document.remove("grid");
+            document.remove("placements");
+        }
+        return entity;
+    }
+
+    @Override
+    public WordSearch onAfterConvert(WordSearch entity, Document document, String collection) {
+        if (entity.getGrid() == null && entity.getSeed() != null) entity.regenerateGrid();
+        return entity;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Classe CompactSudoku
+ * Forma compacta da entidade Sudoku para as respostas da API
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.Base64;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Sudoku na forma compacta: uma string com um caractere por célula e um bitset das células fixas")
+public class CompactSudoku {
+    @Schema(description = "ID único do Sudoku", example = "66f1c2a9e4b0a1b2c3d4e5f6")
+    private String id;
+
+    @Schema(description = "Tipo do tabuleiro, define as dimensões e os valores válidos", example = "NINEBYNINE")
+    private SudokuType type;
+
+    @Schema(description = "Dificuldade do Sudoku", example = "MEDIUM")
+    private SudokuDifficulty difficulty;
+
+    @Schema(description = "Pontuação de dificuldade", example = "57")
+    private int difficultyScore;
+
+    @Schema(description = "Código da semente, quando o Sudoku foi gerado por semente", example = "NINEBYNINE-2-HARD-3w5e11264sgsg")
+    private String seed;
+
+    @Schema(description = "Células linha a linha, '.' para vazio", example = "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79")
+    private String cells;
+
+    @Schema(description = "Bitset das células fixas em base64 (bit i = célula i)", example = "k0AhEIQgCEIBBAg=")
+    private String givens;
+
+    /**
+     * @return Sudoku montado de volta a partir da forma compacta (sem a solução).
+     */
+    public Sudoku toSudoku() {
+        Sudoku sudoku = SudokuCodec.decode(type, cells, Base64.getDecoder().decode(givens));
+        sudoku.setId(id);
+        sudoku.setDifficulty(difficulty);
+        sudoku.setDifficultyScore(difficultyScore);
+        sudoku.setSeed(seed);
+        return sudoku;
+    }
+
+    public static CompactSudoku of(Sudoku sudoku) {
+        return new CompactSudoku(sudoku.getId(), sudoku.getType(), sudoku.getDifficulty(), sudoku.getDifficultyScore(), sudoku.getSeed(),
+                SudokuCodec.encodeCells(sudoku), Base64.getEncoder().encodeToString(SudokuCodec.encodeGivens(sudoku)));
+    }
+}
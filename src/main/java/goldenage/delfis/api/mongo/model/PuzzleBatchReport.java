@@ -0,0 +1,28 @@
+/*
+ * Classe PuzzleBatchReport
+ * Resultado da geração de puzzles em lote
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Resultado de uma geração em lote.")
+public class PuzzleBatchReport {
+    @Schema(description = "Semente do lote; repetir a chamada com ela gera os mesmos puzzles.", example = "4242")
+    private long seed;
+
+    @Schema(description = "Vazão por tipo de puzzle.")
+    private List<PuzzleBatchStats> stats;
+}
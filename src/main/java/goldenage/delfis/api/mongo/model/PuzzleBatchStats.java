@@ -0,0 +1,32 @@
+/*
+ * Classe PuzzleBatchStats
+ * Vazão da geração em lote de um tipo de puzzle
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Quantidade e vazão de um tipo de puzzle gerado no lote.")
+public class PuzzleBatchStats {
+    @Schema(description = "Tipo do puzzle.", example = "NINEBYNINE")
+    private String type;
+
+    @Schema(description = "Quantidade de puzzles gerados e salvos.", example = "1000")
+    private int count;
+
+    @Schema(description = "Tempo total de geração e gravação, em milissegundos.", example = "2350")
+    private long elapsedMillis;
+
+    @Schema(description = "Puzzles por segundo.", example = "425.5")
+    private double puzzlesPerSecond;
+}
@@ -7,9 +7,12 @@
 
 package goldenage.delfis.api.mongo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Getter
@@ -18,7 +21,33 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @EqualsAndHashCode
 @Schema(description = "Modelo que representa um tabuleiro de Sudoku")
 @Document
+@CompoundIndex(name = "type_difficulty_pooled", def = "{'type': 1, 'difficulty': 1, 'pooled': 1}")
+@CompoundIndex(name = "filled_cells", def = "{'filledCells': -1, '_id': 1}")
 public class Sudoku {
+    @Id
+    @Schema(description = "ID único do Sudoku", example = "66f1c2a9e4b0a1b2c3d4e5f6")
+    private String id;
+
+    @Schema(description = "Tipo do tabuleiro", example = "NINEBYNINE")
+    private SudokuType type;
+
+    @Schema(description = "Dificuldade do Sudoku segundo as técnicas necessárias para resolvê-lo", example = "MEDIUM")
+    private SudokuDifficulty difficulty;
+
+    @Schema(description = "Pontuação de dificuldade (soma dos pesos das técnicas usadas)", example = "57")
+    private int difficultyScore;
+
+    // solução do tabuleiro, um byte por célula (1..n); nunca vai para o cliente
+    @JsonIgnore
+    @Schema(hidden = true)
+    private byte[] solution;
+
+    @Schema(description = "Código que regenera o Sudoku (tipo, versão do gerador, dificuldade alvo e semente); basta ele para compartilhar o puzzle", example = "NINEBYNINE-2-HARD-3w5e11264sgsg")
+    private String seed;
+
+    @Schema(description = "Indica se o Sudoku ainda está no estoque esperando para ser entregue", example = "false")
+    private boolean pooled;
+
     @ArraySchema(schema = @Schema(description = "Tabuleiro do Sudoku com as posições preenchidas e vazias", example = "[[\"5\", \"3\", \"\", ...], [...]]"))
     protected String[][] board;
 
@@ -53,6 +82,11 @@ public class Sudoku {
     }
 
     public Sudoku(Sudoku puzzle) {
+        this.type = puzzle.type;
+        this.difficulty = puzzle.difficulty;
+        this.difficultyScore = puzzle.difficultyScore;
+        this.solution = puzzle.solution;
+        this.seed = puzzle.seed;
         this.ROWS = puzzle.ROWS;
         this.COLUMNS = puzzle.COLUMNS;
         this.BOXWIDTH = puzzle.BOXWIDTH;
@@ -68,11 +102,16 @@ public class Sudoku {
         }
     }
 
-    public void makeMove(int row, int col, String value, boolean isMutable) {
+    /**
+     * @return true se a jogada foi aplicada; false se o valor, a posição ou a célula não permitem.
+     */
+    public boolean makeMove(int row, int col, String value, boolean isMutable) {
         if (this.isValidValue(value) && this.isValidMove(row, col, value) && this.isSlotMutable(row, col)) {
             this.board[row][col] = value;
             this.mutable[row][col] = isMutable;
+            return true;
         }
+        return false;
     }
 
     public boolean isValidMove(int row, int col, String value) {
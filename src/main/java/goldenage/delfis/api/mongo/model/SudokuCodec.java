@@ -0,0 +1,88 @@
+/*
+ * Classe SudokuCodec
+ * Codificação compacta da entidade Sudoku
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+/**
+ * Representação compacta de um tabuleiro: as dimensões e os valores válidos vêm do SudokuType,
+ * as células viram uma string com um caractere por célula ('.' = vazio, ex.: "53..7....") e as
+ * células fixas (não mutáveis) viram um bitset.
+ */
+public class SudokuCodec {
+    public static final char EMPTY = '.';
+
+    /**
+     * @return uma string com um caractere por célula, linha a linha.
+     */
+    public static String encodeCells(Sudoku puzzle) {
+        int rows = puzzle.getNumRows();
+        int columns = puzzle.getNumColumns();
+        char[] cells = new char[rows * columns];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                String value = puzzle.getBoard()[r][c];
+                cells[r * columns + c] = value == null || value.isEmpty() ? EMPTY : value.charAt(0);
+            }
+        }
+        return new String(cells);
+    }
+
+    /**
+     * @return bitset com as células que não são mutáveis (bit i = célula i).
+     */
+    public static byte[] encodeGivens(Sudoku puzzle) {
+        int rows = puzzle.getNumRows();
+        int columns = puzzle.getNumColumns();
+        byte[] givens = new byte[(rows * columns + 7) / 8];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                if (!puzzle.isSlotMutable(r, c)) {
+                    int cell = r * columns + c;
+                    givens[cell >> 3] |= (byte) (1 << (cell & 7));
+                }
+            }
+        }
+        return givens;
+    }
+
+    /**
+     * Empacota a solução em meio byte por célula (valor - 1, de 0 a 15).
+     */
+    public static byte[] packSolution(byte[] solution) {
+        byte[] packed = new byte[(solution.length + 1) / 2];
+        for (int cell = 0; cell < solution.length; cell++) {
+            packed[cell >> 1] |= (byte) ((solution[cell] - 1) << ((cell & 1) * 4));
+        }
+        return packed;
+    }
+
+    /**
+     * @return solução com um byte por célula (1..n).
+     */
+    public static byte[] unpackSolution(byte[] packed, int cellCount) {
+        byte[] solution = new byte[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            solution[cell] = (byte) (((packed[cell >> 1] >> ((cell & 1) * 4)) & 0xF) + 1);
+        }
+        return solution;
+    }
+
+    /**
+     * Monta o documento Sudoku a partir da forma compacta.
+     */
+    public static Sudoku decode(SudokuType type, String cells, byte[] givens) {
+        Sudoku puzzle = new Sudoku(type.getRows(), type.getColumns(), type.getBoxWidth(), type.getBoxHeight(), type.getValidValues());
+        puzzle.setType(type);
+        int columns = type.getColumns();
+        for (int cell = 0; cell < cells.length(); cell++) {
+            char value = cells.charAt(cell);
+            if (value != EMPTY) puzzle.board[cell / columns][cell % columns] = String.valueOf(value);
+            if (givens != null && (givens[cell >> 3] & (1 << (cell & 7))) != 0) puzzle.mutable[cell / columns][cell % columns] = false;
+        }
+        return puzzle;
+    }
+}
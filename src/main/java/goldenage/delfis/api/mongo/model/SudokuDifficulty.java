@@ -0,0 +1,19 @@
+/*
+ * Enum SudokuDifficulty
+ * Enum de dificuldades da entidade Sudoku
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+/*
+ * Definida pela técnica mais difícil que o SudokuRater precisou usar.
+ * EASY: só hidden singles
+ * MEDIUM: naked singles
+ * HARD: pointing/box-line e pares
+ * EXPERT: nenhuma das técnicas resolve, precisa de tentativa e erro
+ * */
+public enum SudokuDifficulty {
+    EASY, MEDIUM, HARD, EXPERT
+}
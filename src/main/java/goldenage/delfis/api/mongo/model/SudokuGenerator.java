@@ -7,82 +7,287 @@
 
 package goldenage.delfis.api.mongo.model;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Random;
+import goldenage.delfis.api.mongo.util.LruCache;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
 
 public class SudokuGenerator {
+	public static final double DEFAULT_CLUE_RATIO = 0.22222;
+
+	/**
+	 * Versão do algoritmo de geração por semente. Qualquer mudança que altere o puzzle gerado a partir
+	 * de uma semente (ordem de sorteio, critério de parada, orçamento de nós) precisa de uma versão nova,
+	 * mantendo a antiga enquanto houver Sudokus salvos com ela.
+	 * Versão 1: preenchimento sem limite. Versão 2: preenchimento com orçamento de nós e reinício com nova semente.
+	 */
+	public static final int GENERATOR_VERSION = 2;
+	private static final int FIRST_SUPPORTED_VERSION = 1;
+	private static final int MAX_FILL_ATTEMPTS = 32;
+	private static final BooleanSupplier INTERRUPTED = () -> Thread.currentThread().isInterrupted();
+	private static final int SEEDED_CACHE_SIZE = 1024;
+	private static final LruCache<SudokuSeed, Sudoku> SEEDED_CACHE = new LruCache<>(SEEDED_CACHE_SIZE);
+
+	/**
+	 * Tempo máximo gasto retirando pistas, por tipo de tabuleiro.
+	 * Quando acaba, o puzzle fica com as pistas que ainda restam (continua com solução única).
+	 */
+	public static long defaultBudgetMillis(SudokuType puzzleType) {
+		return switch (puzzleType) {
+			case SIXBYSIX -> 20;
+			case NINEBYNINE -> 50;
+			case TWELVEBYTWELVE -> 150;
+			case SIXTEENBYSIXTEEN -> 300;
+		};
+	}
+
+	/**
+	 * Total de nós que a geração por semente pode gastar retirando pistas, por tipo de tabuleiro.
+	 * Faz o papel do defaultBudgetMillis, mas não depende da máquina, então a semente sempre gera o mesmo puzzle.
+	 * Faz parte do GENERATOR_VERSION.
+	 */
+	public static long defaultNodeBudget(SudokuType puzzleType) {
+		return switch (puzzleType) {
+			case SIXBYSIX -> 20_000;
+			case NINEBYNINE -> 100_000;
+			case TWELVEBYTWELVE -> 300_000;
+			case SIXTEENBYSIXTEEN -> 600_000;
+		};
+	}
+
+	/**
+	 * Nós que uma tentativa de preencher o tabuleiro pode gastar antes de recomeçar com outra semente.
+	 * Quase toda primeira coluna sorteada se resolve com poucas centenas de nós, mas no 16x16 algumas
+	 * ficam presas por milhões; recomeçar sai muito mais barato que insistir.
+	 */
+	public static long fillNodeBudget(SudokuType puzzleType) {
+		return switch (puzzleType) {
+			case SIXBYSIX -> 1_000;
+			case NINEBYNINE -> 5_000;
+			case TWELVEBYTWELVE, SIXTEENBYSIXTEEN -> 20_000;
+		};
+	}
+
+	/**
+	 * Fração mínima de pistas que deixa a geração mais perto da dificuldade pedida.
+	 * É só uma tendência: a dificuldade real vem do SudokuRater.
+	 */
+	public static double clueRatioFor(SudokuDifficulty difficulty) {
+		return switch (difficulty) {
+			case EASY -> 0.45;
+			case MEDIUM -> 0.35;
+			case HARD -> 0.28;
+			case EXPERT -> DEFAULT_CLUE_RATIO;
+		};
+	}
+
 	public static Sudoku generateRandomSudoku(SudokuType puzzleType) {
-		Sudoku puzzle = new Sudoku(puzzleType.getRows(), puzzleType.getColumns(), puzzleType.getBoxWidth(), puzzleType.getBoxHeight(), puzzleType.getValidValues());
-		Sudoku copy = new Sudoku(puzzle);
-		
-		Random randomGenerator = new Random();
-		
-		List<String> notUsedValidValues = new ArrayList<>(Arrays.asList(copy.getValidValues()));
-		for(int r = 0;r < copy.getNumRows();r++) {
-			int randomValue = randomGenerator.nextInt(notUsedValidValues.size());
-			copy.makeMove(r, 0, notUsedValidValues.get(randomValue), true);
-			notUsedValidValues.remove(randomValue);
+		return generateRandomSudoku(puzzleType, defaultBudgetMillis(puzzleType));
+	}
+
+	/**
+	 * Gera um Sudoku com solução única.
+	 * @param budgetMillis: tempo máximo para retirar pistas
+	 */
+	public static Sudoku generateRandomSudoku(SudokuType puzzleType, long budgetMillis) {
+		return generateRandomSudoku(puzzleType, budgetMillis, DEFAULT_CLUE_RATIO);
+	}
+
+	/**
+	 * Gera um Sudoku com solução única.
+	 * @param budgetMillis: tempo máximo para retirar pistas
+	 * @param clueRatio: fração mínima de células que continuam preenchidas; mais pistas tendem a puzzles mais fáceis
+	 */
+	public static Sudoku generateRandomSudoku(SudokuType puzzleType, long budgetMillis, double clueRatio) {
+		return generateRandomSudoku(puzzleType, budgetMillis, clueRatio, new SplittableRandom());
+	}
+
+	/**
+	 * Gera um Sudoku com solução única a partir de um gerador explícito.
+	 * Com a mesma semente, a solução e a ordem de retirada das pistas se repetem; lotes em paralelo
+	 * usam um split() por puzzle.
+	 * O pior caso é limitado: no máximo MAX_FILL_ATTEMPTS x fillNodeBudget nós preenchendo e budgetMillis retirando pistas.
+	 * Se a thread for interrompida, desiste com CancellationException.
+	 * @param randomGenerator: fonte de aleatoriedade (não é thread-safe, um por thread)
+	 */
+	public static Sudoku generateRandomSudoku(SudokuType puzzleType, long budgetMillis, double clueRatio, SplittableRandom randomGenerator) {
+		return generate(puzzleType, clueRatio, randomGenerator, fillNodeBudget(puzzleType),
+				System.nanoTime() + budgetMillis * 1_000_000L, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Gera (ou pega do cache) o Sudoku identificado pela semente. Sempre devolve uma cópia,
+	 * então quem chamou pode alterar o tabuleiro à vontade.
+	 */
+	public static Sudoku generateSeededSudoku(SudokuSeed seed) {
+		if(seed.getVersion() < FIRST_SUPPORTED_VERSION || seed.getVersion() > GENERATOR_VERSION) {
+			throw new IllegalArgumentException("Versão do gerador não suportada: " + seed.getVersion());
+		}
+		Sudoku puzzle = new Sudoku(SEEDED_CACHE.get(seed, SudokuGenerator::generate));
+		puzzle.setSeed(seed.toCode());
+		return puzzle;
+	}
+
+	/**
+	 * @return Sudoku da versão atual do gerador para a semente.
+	 */
+	public static Sudoku generateSeededSudoku(SudokuType puzzleType, SudokuDifficulty target, long seed) {
+		return generateSeededSudoku(new SudokuSeed(puzzleType, GENERATOR_VERSION, target, seed));
+	}
+
+	/**
+	 * Gera o Sudoku da versão atual do gerador para uma semente nova, sem passar pelo cache.
+	 * É o caminho do estoque e dos lotes: puzzles que só são gravados não devem tirar do cache os que são lidos.
+	 */
+	public static Sudoku generateNewSeededSudoku(SudokuType puzzleType, SudokuDifficulty target, long seed) {
+		SudokuSeed sudokuSeed = new SudokuSeed(puzzleType, GENERATOR_VERSION, target, seed);
+		Sudoku puzzle = generate(sudokuSeed);
+		puzzle.setSeed(sudokuSeed.toCode());
+		return puzzle;
+	}
+
+	private static Sudoku generate(SudokuSeed seed) {
+		long fillBudget = seed.getVersion() == 1 ? Long.MAX_VALUE : fillNodeBudget(seed.getType());
+		return generate(seed.getType(), clueRatioFor(seed.getTarget()), new SplittableRandom(seed.getSeed()),
+				fillBudget, SudokuSolver.NO_DEADLINE, defaultNodeBudget(seed.getType()));
+	}
+
+	/*
+	 * Preenche um tabuleiro e retira pistas até o mínimo, o prazo (deadline) ou o total de nós (nodeBudget) acabar.
+	 * */
+	private static Sudoku generate(SudokuType puzzleType, double clueRatio, SplittableRandom randomGenerator,
+								   long fillBudget, long deadline, long nodeBudget) {
+		SudokuSolver solver = new SudokuSolver(puzzleType);
+		int size = solver.getSize();
+		fill(solver, randomGenerator, fillBudget);
+		byte[] solution = solver.getGrid();
+
+		// retira pistas em ordem aleatória, mantendo só as remoções que deixam a solução única
+		int minimumClues = (int)(clueRatio*(size*size));
+		int[] cells = new int[solution.length];
+		for(int i = 0;i < cells.length;i++) {
+			cells[i] = i;
 		}
+		shuffle(cells, randomGenerator);
+
+		int clues = cells.length;
+		long nodesLeft = nodeBudget;
+		for(int cell : cells) {
+			if(clues <= minimumClues || nodesLeft <= 0) break;
+			if(deadline != SudokuSolver.NO_DEADLINE && System.nanoTime() - deadline > 0) break;
+			if(INTERRUPTED.getAsBoolean()) throw new CancellationException("Geração de Sudoku cancelada.");
 
-		backtrackSudokuSolver(0, 0, copy);
-		
-		int numberOfValuesToKeep = (int)(0.22222*(copy.getNumRows()*copy.getNumRows()));
-		
-		for(int i = 0;i < numberOfValuesToKeep;) {
-			int randomRow = randomGenerator.nextInt(puzzle.getNumRows());
-			int randomColumn = randomGenerator.nextInt(puzzle.getNumColumns());
-			
-			if(puzzle.isSlotAvailable(randomRow, randomColumn)) {
-				puzzle.makeMove(randomRow, randomColumn, copy.getValue(randomRow, randomColumn), false);
-				i++;
+			solver.remove(cell);
+			int solutions = solver.countSolutions(2, deadline, nodesLeft);
+			nodesLeft -= solver.getNodes();
+			if(solutions == 1) {
+				clues--;
+			} else {
+				solver.place(cell, solution[cell]);
 			}
 		}
-		
+
+		boolean[] givens = new boolean[solution.length];
+		for(int cell = 0;cell < givens.length;cell++) {
+			givens[cell] = solver.getValue(cell) != 0;
+		}
+
+		Sudoku puzzle = toSudoku(puzzleType, solution, givens);
+		rate(puzzle, solver.getGrid(), new SudokuRater(puzzleType));
 		return puzzle;
 	}
-	
+
 	/**
-	 * Resolve o sudoku.
-	 * @param r: linha
-	 * @param c: coluna
+	 * Classifica a dificuldade do puzzle e grava no documento.
+	 * @param grid: pistas do puzzle, um byte por célula (0 = vazio)
+	 * @param rater: classificador do mesmo tipo, pode ser reaproveitado entre puzzles
 	 */
-    private static boolean backtrackSudokuSolver(int r, int c, Sudoku puzzle) {
-		if(!puzzle.inRange(r,c)) {
-			return false;
-		}
+	public static void rate(Sudoku puzzle, byte[] grid, SudokuRater rater) {
+		puzzle.setDifficultyScore(rater.rate(grid));
+		puzzle.setDifficulty(rater.getDifficulty());
+	}
 
-		if(puzzle.isSlotAvailable(r, c)) {
-			for(int i = 0;i < puzzle.getValidValues().length;i++) {
-				if(!puzzle.numInRow(r, puzzle.getValidValues()[i])
-						&& !puzzle.numInCol(c,puzzle.getValidValues()[i])
-						&& !puzzle.numInBox(r,c,puzzle.getValidValues()[i])) {
-					puzzle.makeMove(r, c, puzzle.getValidValues()[i], true);
-
-					if(puzzle.boardFull()) {
-						return true;
-					}
-
-					if(r == puzzle.getNumRows() - 1) {
-						if(backtrackSudokuSolver(0,c + 1,puzzle)) return true;
-					} else {
-						if(backtrackSudokuSolver(r + 1,c,puzzle)) return true;
-					}
+	/**
+	 * Converte as pistas do documento Sudoku para o grid primitivo (um byte por célula, 0 = vazio).
+	 */
+	public static byte[] toGrid(Sudoku puzzle) {
+		String[] validValues = puzzle.getValidValues();
+		int columns = puzzle.getNumColumns();
+		byte[] grid = new byte[puzzle.getNumRows() * columns];
+
+		for(int cell = 0;cell < grid.length;cell++) {
+			String value = puzzle.getBoard()[cell / columns][cell % columns];
+			if(value == null || value.isEmpty() || puzzle.isSlotMutable(cell / columns, cell % columns)) continue;
+			for(int v = 0;v < validValues.length;v++) {
+				if(validValues[v].equals(value)) {
+					grid[cell] = (byte) (v + 1);
+					break;
 				}
 			}
 		}
+		return grid;
+	}
 
-		else {
-			if(r == puzzle.getNumRows() - 1) {
-				return backtrackSudokuSolver(0,c + 1,puzzle);
-			} else {
-				return backtrackSudokuSolver(r + 1,c,puzzle);
+	/*
+	 * Sorteia a primeira coluna e resolve o resto. Se a tentativa estourar o orçamento, recomeça do zero
+	 * com um split() do gerador, então a semente continua determinando o resultado.
+	 * */
+	private static void fill(SudokuSolver solver, SplittableRandom randomGenerator, long fillBudget) {
+		int size = solver.getSize();
+		int[] values = new int[size];
+		SplittableRandom attemptRandom = randomGenerator;
+		for(int attempt = 1;;attempt++) {
+			// primeira coluna aleatória para variar o tabuleiro gerado
+			for(int i = 0;i < size;i++) {
+				values[i] = i + 1;
 			}
+			shuffle(values, attemptRandom);
+			for(int r = 0;r < size;r++) {
+				solver.place(r * size, values[r]);
+			}
+
+			if(solver.solve(attemptRandom, fillBudget, SudokuSolver.NO_DEADLINE, INTERRUPTED) == SudokuSolver.SOLVED) return;
+			if(INTERRUPTED.getAsBoolean()) throw new CancellationException("Geração de Sudoku cancelada.");
+			if(attempt == MAX_FILL_ATTEMPTS) {
+				throw new IllegalStateException("Não foi possível preencher o Sudoku em " + MAX_FILL_ATTEMPTS + " tentativas.");
+			}
+
+			solver.clear();
+			attemptRandom = randomGenerator.split();
+		}
+	}
+
+	private static void shuffle(int[] values, SplittableRandom randomGenerator) {
+		for(int i = values.length - 1;i > 0;i--) {
+			int j = randomGenerator.nextInt(i + 1);
+			int tmp = values[i];
+			values[i] = values[j];
+			values[j] = tmp;
 		}
+	}
+
+	/**
+	 * Converte o grid primitivo do solver para o documento Sudoku.
+	 * @param grid: solução completa, valores de 1..n por célula
+	 * @param givens: células que ficam preenchidas (e imutáveis) no tabuleiro
+	 */
+	static Sudoku toSudoku(SudokuType puzzleType, byte[] grid, boolean[] givens) {
+		Sudoku puzzle = new Sudoku(puzzleType.getRows(), puzzleType.getColumns(), puzzleType.getBoxWidth(), puzzleType.getBoxHeight(), puzzleType.getValidValues());
+		puzzle.setType(puzzleType);
+		puzzle.setSolution(grid.clone());
+		String[] validValues = puzzleType.getValidValues();
+		int columns = puzzleType.getColumns();
 
-		puzzle.makeSlotEmpty(r, c);
+		for(int cell = 0;cell < grid.length;cell++) {
+			if(givens[cell]) {
+				int r = cell / columns;
+				int c = cell % columns;
+				puzzle.board[r][c] = validValues[grid[cell] - 1];
+				puzzle.mutable[r][c] = false;
+			}
+		}
 
-		return false;
+		return puzzle;
 	}
 }
@@ -0,0 +1,29 @@
+/*
+ * Classe SudokuMove
+ * Jogada enviada pelo cliente para validação
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Jogada em uma célula do Sudoku")
+public class SudokuMove {
+    @Schema(description = "Linha da célula (começa em 0)", example = "0")
+    private int row;
+
+    @Schema(description = "Coluna da célula (começa em 0)", example = "4")
+    private int col;
+
+    @Schema(description = "Valor colocado na célula; vazio limpa a célula", example = "7")
+    private String value;
+}
@@ -0,0 +1,32 @@
+/*
+ * Classe SudokuMoveResult
+ * Resultado da validação de uma jogada de Sudoku
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Resultado da validação de uma jogada")
+public class SudokuMoveResult {
+    @Schema(description = "Linha da célula", example = "0")
+    private int row;
+
+    @Schema(description = "Coluna da célula", example = "4")
+    private int col;
+
+    @Schema(description = "Valor validado", example = "7")
+    private String value;
+
+    @Schema(description = "Resultado da jogada", example = "CORRECT")
+    private SudokuMoveStatus status;
+}
@@ -0,0 +1,12 @@
+/*
+ * Enum SudokuMoveStatus
+ * Enum de resultados da validação de jogadas de Sudoku
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+public enum SudokuMoveStatus {
+    CORRECT, WRONG, VALID, CONFLICT, CLEARED, FIXED_CELL, OUT_OF_RANGE, INVALID_VALUE
+}
@@ -0,0 +1,71 @@
+/*
+ * Classe SudokuMoveValidator
+ * Validação de jogadas contra a solução e as restrições do Sudoku
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Carrega as pistas do Sudoku uma vez nas bitmasks do SudokuSolver e valida cada jogada em tempo
+ * constante: conflito pelas máscaras de linha/coluna/caixa e acerto pela solução guardada.
+ * As jogadas do lote são aplicadas em ordem, então cada uma é validada sobre as anteriores.
+ * Jogadas em conflito não são aplicadas. Sem solução guardada (sudoku sem solução única), as jogadas
+ * sem conflito voltam como VALID.
+ */
+public class SudokuMoveValidator {
+    private final SudokuType type;
+    private final byte[] solution;
+    private final boolean[] fixed;
+    private final SudokuSolver state;
+
+    public SudokuMoveValidator(Sudoku puzzle) {
+        this.type = puzzle.getType();
+        this.solution = puzzle.getSolution();
+        this.state = new SudokuSolver(type);
+        this.fixed = new boolean[state.getCellCount()];
+
+        byte[] givens = SudokuGenerator.toGrid(puzzle);
+        for (int cell = 0; cell < givens.length; cell++) {
+            if (givens[cell] != 0) {
+                fixed[cell] = true;
+                state.place(cell, givens[cell]);
+            }
+        }
+    }
+
+    public List<SudokuMoveResult> validate(List<SudokuMove> moves) {
+        List<SudokuMoveResult> results = new ArrayList<>(moves.size());
+        for (SudokuMove move : moves) {
+            results.add(new SudokuMoveResult(move.getRow(), move.getCol(), move.getValue(), validate(move)));
+        }
+        return results;
+    }
+
+    private SudokuMoveStatus validate(SudokuMove move) {
+        int size = state.getSize();
+        if (move.getRow() < 0 || move.getRow() >= size || move.getCol() < 0 || move.getCol() >= size) return SudokuMoveStatus.OUT_OF_RANGE;
+
+        int cell = move.getRow() * size + move.getCol();
+        if (fixed[cell]) return SudokuMoveStatus.FIXED_CELL;
+
+        if (move.getValue() == null || move.getValue().isEmpty()) {
+            state.remove(cell);
+            return SudokuMoveStatus.CLEARED;
+        }
+
+        int value = type.indexOf(move.getValue());
+        if (value == 0) return SudokuMoveStatus.INVALID_VALUE;
+
+        state.remove(cell);
+        if ((state.candidates(cell) & (1 << (value - 1))) == 0) return SudokuMoveStatus.CONFLICT;
+
+        state.place(cell, value);
+        if (solution == null) return SudokuMoveStatus.VALID;
+        return solution[cell] == value ? SudokuMoveStatus.CORRECT : SudokuMoveStatus.WRONG;
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Classe SudokuRater
+ * Classificador de dificuldade da entidade Sudoku
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+/**
+ * Resolve o puzzle só com técnicas humanas, da mais fácil para a mais difícil, e soma o peso
+ * de cada passo usado. Sempre que uma técnica avança, volta para a mais fácil.
+ * Trabalha em máscaras de candidatos (um int por célula) e reaproveita os arrays entre chamadas,
+ * então uma mesma instância pode classificar milhares de puzzles do mesmo tipo sem alocar.
+ * Não é thread-safe.
+ */
+public class SudokuRater {
+    private static final int HIDDEN_SINGLE = 1;
+    private static final int NAKED_SINGLE = 2;
+    private static final int INTERSECTION = 5;
+    private static final int NAKED_PAIR = 8;
+    private static final int HIDDEN_PAIR = 10;
+    private static final int GUESS = 20;
+
+    private final int size;
+    private final int cellCount;
+    private final int[][] units;
+    private final int[] cellRow;
+    private final int[] cellCol;
+    private final int[] cellBox;
+    private final int[] candidates;
+    private final int[] positions;
+    private final byte[] grid;
+    private int remaining;
+    private SudokuDifficulty difficulty;
+
+    public SudokuRater(SudokuType type) {
+        this.size = type.getRows();
+        this.cellCount = size * size;
+        this.units = new int[size * 3][size];
+        this.cellRow = new int[cellCount];
+        this.cellCol = new int[cellCount];
+        this.cellBox = new int[cellCount];
+        this.candidates = new int[cellCount];
+        this.positions = new int[size];
+        this.grid = new byte[cellCount];
+
+        int boxWidth = type.getBoxWidth();
+        int boxHeight = type.getBoxHeight();
+        int boxesPerRow = size / boxWidth;
+        int[] boxFill = new int[size];
+        for (int cell = 0; cell < cellCount; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            int box = (row / boxHeight) * boxesPerRow + col / boxWidth;
+            cellRow[cell] = row;
+            cellCol[cell] = col;
+            cellBox[cell] = box;
+            units[row][col] = cell;
+            units[size + col][row] = cell;
+            units[size * 2 + box][boxFill[box]++] = cell;
+        }
+    }
+
+    /**
+     * Classifica o puzzle.
+     *
+     * @param puzzle grid com um byte por célula (1..n, 0 = vazio).
+     * @return pontuação de dificuldade; a categoria fica em {@link #getDifficulty()}.
+     */
+    public int rate(byte[] puzzle) {
+        int full = (1 << size) - 1;
+        for (int cell = 0; cell < cellCount; cell++) {
+            grid[cell] = 0;
+            candidates[cell] = full;
+        }
+        remaining = cellCount;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (puzzle[cell] != 0) place(cell, puzzle[cell]);
+        }
+
+        int score = 0;
+        difficulty = SudokuDifficulty.EASY;
+        while (remaining > 0) {
+            if (hiddenSingle()) {
+                score += HIDDEN_SINGLE;
+            } else if (nakedSingle()) {
+                score += NAKED_SINGLE;
+                raise(SudokuDifficulty.MEDIUM);
+            } else if (intersection()) {
+                score += INTERSECTION;
+                raise(SudokuDifficulty.HARD);
+            } else if (nakedPair()) {
+                score += NAKED_PAIR;
+                raise(SudokuDifficulty.HARD);
+            } else if (hiddenPair()) {
+                score += HIDDEN_PAIR;
+                raise(SudokuDifficulty.HARD);
+            } else {
+                score += GUESS * remaining;
+                difficulty = SudokuDifficulty.EXPERT;
+                break;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * @return dificuldade do último puzzle classificado.
+     */
+    public SudokuDifficulty getDifficulty() {
+        return difficulty;
+    }
+
+    private void raise(SudokuDifficulty level) {
+        if (level.compareTo(difficulty) > 0) difficulty = level;
+    }
+
+    private void place(int cell, int value) {
+        int bit = ~(1 << (value - 1));
+        grid[cell] = (byte) value;
+        candidates[cell] = 0;
+        remaining--;
+        clear(units[cellRow[cell]], bit);
+        clear(units[size + cellCol[cell]], bit);
+        clear(units[size * 2 + cellBox[cell]], bit);
+    }
+
+    private void clear(int[] unit, int keepMask) {
+        for (int cell : unit) candidates[cell] &= keepMask;
+    }
+
+    /*
+     * Valor que só tem uma posição possível em alguma linha, coluna ou caixa.
+     * */
+    private boolean hiddenSingle() {
+        for (int[] unit : units) {
+            int once = 0;
+            int twice = 0;
+            for (int cell : unit) {
+                int mask = candidates[cell];
+                twice |= once & mask;
+                once |= mask;
+            }
+            int single = once & ~twice;
+            if (single == 0) continue;
+
+            int bit = Integer.lowestOneBit(single);
+            for (int cell : unit) {
+                if ((candidates[cell] & bit) != 0) {
+                    place(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Célula com um único candidato.
+     * */
+    private boolean nakedSingle() {
+        for (int cell = 0; cell < cellCount; cell++) {
+            int mask = candidates[cell];
+            if (grid[cell] == 0 && mask != 0 && (mask & (mask - 1)) == 0) {
+                place(cell, Integer.numberOfTrailingZeros(mask) + 1);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Pointing e box-line reduction: se numa caixa um valor só aparece numa linha/coluna,
+     * sai do resto dessa linha/coluna, e vice-versa.
+     * */
+    private boolean intersection() {
+        boolean changed = false;
+        for (int box = 0; box < size; box++) {
+            int[] boxUnit = units[size * 2 + box];
+            for (int bit = 1; bit <= (1 << (size - 1)); bit <<= 1) {
+                int row = -1;
+                int col = -1;
+                int count = 0;
+                for (int cell : boxUnit) {
+                    if ((candidates[cell] & bit) == 0) continue;
+                    row = count == 0 || row == cellRow[cell] ? cellRow[cell] : -2;
+                    col = count == 0 || col == cellCol[cell] ? cellCol[cell] : -2;
+                    count++;
+                }
+                if (count < 2) continue;
+                if (row >= 0) changed |= eliminateOutsideBox(units[row], box, bit);
+                if (col >= 0) changed |= eliminateOutsideBox(units[size + col], box, bit);
+            }
+            if (changed) return true;
+        }
+
+        for (int line = 0; line < size * 2; line++) {
+            int[] lineUnit = units[line];
+            for (int bit = 1; bit <= (1 << (size - 1)); bit <<= 1) {
+                int box = -1;
+                int count = 0;
+                for (int cell : lineUnit) {
+                    if ((candidates[cell] & bit) == 0) continue;
+                    box = count == 0 || box == cellBox[cell] ? cellBox[cell] : -2;
+                    count++;
+                }
+                if (count < 2 || box < 0) continue;
+                for (int cell : units[size * 2 + box]) {
+                    if ((candidates[cell] & bit) != 0 && !inLine(line, cell)) {
+                        candidates[cell] &= ~bit;
+                        changed = true;
+                    }
+                }
+            }
+            if (changed) return true;
+        }
+        return false;
+    }
+
+    private boolean eliminateOutsideBox(int[] line, int box, int bit) {
+        boolean changed = false;
+        for (int cell : line) {
+            if (cellBox[cell] != box && (candidates[cell] & bit) != 0) {
+                candidates[cell] &= ~bit;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private boolean inLine(int line, int cell) {
+        return line < size ? cellRow[cell] == line : cellCol[cell] == line - size;
+    }
+
+    /*
+     * Duas células da mesma unidade com os mesmos dois candidatos: saem do resto da unidade.
+     * */
+    private boolean nakedPair() {
+        for (int[] unit : units) {
+            for (int i = 0; i < size; i++) {
+                int mask = candidates[unit[i]];
+                if (Integer.bitCount(mask) != 2) continue;
+                for (int j = i + 1; j < size; j++) {
+                    if (candidates[unit[j]] != mask) continue;
+
+                    boolean changed = false;
+                    for (int k = 0; k < size; k++) {
+                        int cell = unit[k];
+                        if (k != i && k != j && (candidates[cell] & mask) != 0) {
+                            candidates[cell] &= ~mask;
+                            changed = true;
+                        }
+                    }
+                    if (changed) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Dois valores que só aparecem nas mesmas duas células da unidade: essas células ficam só com eles.
+     * */
+    private boolean hiddenPair() {
+        for (int[] unit : units) {
+            for (int v = 0; v < size; v++) {
+                int bit = 1 << v;
+                int pos = 0;
+                for (int i = 0; i < size; i++) {
+                    if ((candidates[unit[i]] & bit) != 0) pos |= 1 << i;
+                }
+                positions[v] = pos;
+            }
+            for (int a = 0; a < size; a++) {
+                if (Integer.bitCount(positions[a]) != 2) continue;
+                for (int b = a + 1; b < size; b++) {
+                    if (positions[b] != positions[a]) continue;
+
+                    int keep = (1 << a) | (1 << b);
+                    int first = unit[Integer.numberOfTrailingZeros(positions[a])];
+                    int second = unit[31 - Integer.numberOfLeadingZeros(positions[a])];
+                    if (candidates[first] != keep || candidates[second] != keep) {
+                        candidates[first] &= keep;
+                        candidates[second] &= keep;
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
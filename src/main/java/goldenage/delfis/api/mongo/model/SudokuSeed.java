@@ -0,0 +1,46 @@
+/*
+ * Classe SudokuSeed
+ * Chave que identifica um Sudoku gerado por semente
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+import lombok.*;
+
+/**
+ * (tipo, versão do gerador, dificuldade alvo, semente): com ela o SudokuGenerator gera de novo
+ * exatamente o mesmo puzzle. Vira um código curto, ex.: "NINEBYNINE-2-HARD-3w5e11264sgsg",
+ * que é o que fica no Mongo e o que os clientes trocam para compartilhar um puzzle.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class SudokuSeed {
+    private static final char SEPARATOR = '-';
+
+    private final SudokuType type;
+    private final int version;
+    private final SudokuDifficulty target;
+    private final long seed;
+
+    public String toCode() {
+        return type.name() + SEPARATOR + version + SEPARATOR + target.name() + SEPARATOR + Long.toUnsignedString(seed, 36);
+    }
+
+    /**
+     * @throws IllegalArgumentException se o código não estiver no formato de {@link #toCode()}.
+     */
+    public static SudokuSeed parse(String code) {
+        String[] parts = code.split(String.valueOf(SEPARATOR));
+        if (parts.length != 4) throw new IllegalArgumentException("Código de Sudoku inválido: " + code);
+        try {
+            return new SudokuSeed(SudokuType.valueOf(parts[0]), Integer.parseInt(parts[1]),
+                    SudokuDifficulty.valueOf(parts[2]), Long.parseUnsignedLong(parts[3], 36));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Código de Sudoku inválido: " + code);
+        }
+    }
+}
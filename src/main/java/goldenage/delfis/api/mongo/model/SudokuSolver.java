@@ -0,0 +1,306 @@
+/*
+ * Classe SudokuSolver
+ * Motor de resolução de Sudoku baseado em bitmasks
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Resolve tabuleiros de Sudoku sobre um grid primitivo (um byte por célula, 0 = vazio).
+ * Mantém uma bitmask por linha, coluna e caixa com os valores já usados e um contador
+ * de células preenchidas, então checar um candidato é O(1) e o tabuleiro cheio é
+ * uma comparação de inteiros. O valor v (1..n) ocupa o bit (v - 1) das máscaras.
+ */
+public class SudokuSolver {
+    public static final long NO_DEADLINE = Long.MIN_VALUE;
+    public static final int SOLVED = 1;
+    public static final int UNSOLVABLE = 0;
+    public static final int ABORTED = -1;
+    private static final BooleanSupplier NEVER = () -> false;
+
+    private final SudokuType type;
+    private final int size;
+    private final int cellCount;
+    private final byte[] grid;
+    private final int[] cellBox;
+    private final int[] rowMask;
+    private final int[] colMask;
+    private final int[] boxMask;
+    private final int[] stackCell;
+    private final int[] stackMask;
+    private final int[] stackOffset;
+    private int filled;
+    private long nodes;
+    private long maxNodes;
+    private long deadline;
+
+    public SudokuSolver(SudokuType type) {
+        this.type = type;
+        this.size = type.getRows();
+        this.cellCount = size * size;
+        this.grid = new byte[cellCount];
+        this.cellBox = new int[cellCount];
+        this.rowMask = new int[size];
+        this.colMask = new int[size];
+        this.boxMask = new int[size];
+        this.stackCell = new int[cellCount];
+        this.stackMask = new int[cellCount];
+        this.stackOffset = new int[cellCount];
+
+        int boxesPerRow = size / type.getBoxWidth();
+        for (int cell = 0; cell < cellCount; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            cellBox[cell] = (row / type.getBoxHeight()) * boxesPerRow + col / type.getBoxWidth();
+        }
+    }
+
+    public SudokuType getType() {
+        return type;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    public int getFilled() {
+        return filled;
+    }
+
+    public boolean isFull() {
+        return filled == cellCount;
+    }
+
+    /**
+     * @return valor da célula (1..n) ou 0 se estiver vazia.
+     */
+    public int getValue(int cell) {
+        return grid[cell];
+    }
+
+    /**
+     * @return cópia do grid atual.
+     */
+    public byte[] getGrid() {
+        return grid.clone();
+    }
+
+    /**
+     * @return máscara dos valores que ainda podem ser colocados na célula.
+     */
+    public int candidates(int cell) {
+        int row = cell / size;
+        int col = cell - row * size;
+        return ~(rowMask[row] | colMask[col] | boxMask[cellBox[cell]]) & ((1 << size) - 1);
+    }
+
+    /**
+     * Coloca um valor na célula se ele não conflitar com linha, coluna ou caixa.
+     *
+     * @return true se o valor foi colocado.
+     */
+    public boolean place(int cell, int value) {
+        if (grid[cell] != 0 || (candidates(cell) & (1 << (value - 1))) == 0) return false;
+        set(cell, value);
+        return true;
+    }
+
+    /**
+     * Esvazia a célula, liberando o valor nas máscaras.
+     */
+    public void remove(int cell) {
+        if (grid[cell] != 0) unset(cell);
+    }
+
+    /**
+     * Esvazia o tabuleiro inteiro.
+     */
+    public void clear() {
+        for (int cell = 0; cell < cellCount; cell++) {
+            grid[cell] = 0;
+        }
+        for (int i = 0; i < size; i++) {
+            rowMask[i] = 0;
+            colMask[i] = 0;
+            boxMask[i] = 0;
+        }
+        filled = 0;
+    }
+
+    /**
+     * Resolve o tabuleiro a partir do estado atual, sem limite.
+     *
+     * @param random usado para variar a ordem dos candidatos; null resolve de forma determinística.
+     * @return true se encontrou uma solução (o grid fica preenchido).
+     */
+    public boolean solve(SplittableRandom random) {
+        return solve(random, Long.MAX_VALUE, NO_DEADLINE, NEVER) == SOLVED;
+    }
+
+    /**
+     * Resolve o tabuleiro a partir do estado atual com busca em profundidade iterativa (pilha explícita,
+     * uma entrada por célula vazia), então o custo de memória é fixo e o tempo é limitado pelo orçamento.
+     * A ordem de busca é a mesma da versão recursiva: célula com menos candidatos, valores a partir
+     * de um deslocamento sorteado.
+     *
+     * @param random usado para variar a ordem dos candidatos; null resolve de forma determinística.
+     * @param maxNodes número máximo de nós visitados.
+     * @param deadlineNanos instante (System.nanoTime) em que a busca desiste; NO_DEADLINE para não ter prazo.
+     * @param cancelled consultado periodicamente; se devolver true a busca para.
+     * @return SOLVED (o grid fica preenchido), UNSOLVABLE ou ABORTED (orçamento, prazo ou cancelamento);
+     * nos dois últimos casos o grid volta ao estado original.
+     */
+    public int solve(SplittableRandom random, long maxNodes, long deadlineNanos, BooleanSupplier cancelled) {
+        this.nodes = 0;
+        int full = (1 << size) - 1;
+        int depth = 0;
+        boolean descend = true;
+
+        while (true) {
+            if (descend) {
+                if (filled == cellCount) return SOLVED;
+                if (++nodes > maxNodes || ((nodes & 0x3FF) == 0 && (cancelled.getAsBoolean()
+                        || (deadlineNanos != NO_DEADLINE && System.nanoTime() - deadlineNanos > 0)))) {
+                    unwind(depth);
+                    return ABORTED;
+                }
+
+                int cell = mostConstrainedCell();
+                int mask = candidates(cell);
+                stackCell[depth] = cell;
+                stackMask[depth] = mask;
+                // célula sem candidatos não sorteia: a versão recursiva voltava antes do sorteio e as sementes dependem disso
+                stackOffset[depth] = random == null || mask == 0 ? 0 : random.nextInt(size);
+                depth++;
+            }
+
+            int top = depth - 1;
+            int cell = stackCell[top];
+            if (grid[cell] != 0) unset(cell);
+
+            int mask = stackMask[top];
+            if (mask == 0) {
+                if (--depth == 0) return UNSOLVABLE;
+                descend = false;
+                continue;
+            }
+
+            // próximo candidato a partir do deslocamento, dando a volta
+            int offset = stackOffset[top];
+            int rotated = ((mask >>> offset) | (mask << (size - offset))) & full;
+            int bit = (offset + Integer.numberOfTrailingZeros(rotated)) % size;
+            stackMask[top] = mask & ~(1 << bit);
+            set(cell, bit + 1);
+            descend = true;
+        }
+    }
+
+    private void unwind(int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            if (grid[stackCell[i]] != 0) unset(stackCell[i]);
+        }
+    }
+
+    /**
+     * Conta as soluções do tabuleiro atual, parando assim que chegar no limite.
+     * Usado com limite 2 para saber se o puzzle tem solução única. O grid volta
+     * ao estado original no final.
+     *
+     * @param limit número de soluções a partir do qual a busca para.
+     * @param deadlineNanos instante (System.nanoTime) em que a busca desiste.
+     * @return número de soluções encontradas (no máximo limit) ou -1 se o tempo acabou.
+     */
+    public int countSolutions(int limit, long deadlineNanos) {
+        return countSolutions(limit, deadlineNanos, Long.MAX_VALUE);
+    }
+
+    /**
+     * Igual a {@link #countSolutions(int, long)}, mas também desiste depois de maxNodes nós.
+     * Com deadlineNanos = NO_DEADLINE só o limite de nós vale e o resultado é determinístico.
+     *
+     * @return número de soluções encontradas (no máximo limit) ou -1 se o tempo ou os nós acabaram.
+     */
+    public int countSolutions(int limit, long deadlineNanos, long maxNodes) {
+        this.nodes = 0;
+        this.maxNodes = maxNodes;
+        this.deadline = deadlineNanos;
+        return count(limit);
+    }
+
+    /**
+     * @return nós visitados na última resolução ou contagem de soluções.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    private int count(int limit) {
+        if (filled == cellCount) return 1;
+        if (++nodes > maxNodes) return -1;
+        if (deadline != NO_DEADLINE && (nodes & 0x3FF) == 0 && System.nanoTime() - deadline > 0) return -1;
+
+        int cell = mostConstrainedCell();
+        int mask = candidates(cell);
+        int found = 0;
+        while (mask != 0) {
+            int bit = Integer.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+
+            set(cell, bit + 1);
+            int result = count(limit - found);
+            unset(cell);
+
+            if (result < 0) return -1;
+            found += result;
+            if (found >= limit) break;
+        }
+        return found;
+    }
+
+    /**
+     * Escolhe a célula vazia com menos candidatos (minimum remaining values).
+     */
+    private int mostConstrainedCell() {
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (grid[cell] != 0) continue;
+            int count = Integer.bitCount(candidates(cell));
+            if (count < bestCount) {
+                best = cell;
+                bestCount = count;
+                if (count <= 1) break;
+            }
+        }
+        return best;
+    }
+
+    private void set(int cell, int value) {
+        int bit = 1 << (value - 1);
+        int row = cell / size;
+        rowMask[row] |= bit;
+        colMask[cell - row * size] |= bit;
+        boxMask[cellBox[cell]] |= bit;
+        grid[cell] = (byte) value;
+        filled++;
+    }
+
+    private void unset(int cell) {
+        int bit = ~(1 << (grid[cell] - 1));
+        int row = cell / size;
+        rowMask[row] &= bit;
+        colMask[cell - row * size] &= bit;
+        boxMask[cellBox[cell]] &= bit;
+        grid[cell] = 0;
+        filled--;
+    }
+}
@@ -32,6 +32,16 @@ public enum SudokuType {
 		this.desc = desc;
 	}
 	
+	/**
+	 * @return posição do valor (1..n) ou 0 se não for um valor válido deste tipo.
+	 */
+	public int indexOf(String value) {
+		for(int i = 0;i < validValues.length;i++) {
+			if(validValues[i].equals(value)) return i + 1;
+		}
+		return 0;
+	}
+
 	public String toString() {
 		return desc;
 	}
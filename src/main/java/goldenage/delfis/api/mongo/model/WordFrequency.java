@@ -0,0 +1,34 @@
+/*
+ * Classe WordFrequency
+ * Model da entidade WordFrequency
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Quantas vezes uma palavra apareceu nos caça-palavras gerados.")
+@Document
+// mais usadas primeiro, empate pela palavra: o top-N lê só as primeiras entradas do índice
+@CompoundIndex(name = "most_used", def = "{'count': -1, '_id': 1}")
+public class WordFrequency {
+    // a própria palavra é o _id: a consulta por palavra usa o índice do _id
+    @Id
+    @Schema(description = "Palavra", example = "JAVA")
+    private String word;
+
+    @Schema(description = "Quantidade de caça-palavras com a palavra", example = "42")
+    private long count;
+}
@@ -7,17 +7,23 @@
 
 package goldenage.delfis.api.mongo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import goldenage.delfis.api.mongo.util.LruCache;
+import goldenage.delfis.api.mongo.util.WordScanner;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Map;
+import java.util.SplittableRandom;
 
 @Getter
 @Setter
@@ -27,7 +33,25 @@ import java.util.concurrent.ThreadLocalRandom;
 @Schema(description = "Representa um jogo de caça-palavras.")
 @Document
 public class WordSearch {
-    private static final String ALL_CAP_LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    /**
+     * Versão do algoritmo de geração. Qualquer mudança que altere o grid gerado a partir de uma semente
+     * precisa de uma versão nova, mantendo a antiga enquanto houver caça-palavras salvos com ela.
+     * Versão 1: embaralha o grid inteiro a cada palavra. Versão 2: sorteia só as posições tentadas.
+     * Versão 3: maiores primeiro, reaproveitando letras e voltando atrás; as que não cabem saem de words.
+     */
+    public static final int GENERATOR_VERSION = 3;
+    // a partir desta versão words tem só as palavras colocadas e as outras ficam em unplacedWords
+    private static final int REPORTS_UNPLACED_VERSION = 3;
+    private static final int FIRST_SUPPORTED_VERSION = 1;
+    private static final int SEEDED_CACHE_SIZE = 1024;
+    // rodadas de troca de letras de preenchimento até não sobrar palavra bloqueada
+    private static final int MAX_REPAIR_ROUNDS = 8;
+    // chave: [gridSize, versão, semente, palavras]
+    private static final LruCache<List<Object>, WordSearchGrid> SEEDED_GRIDS = new LruCache<>(SEEDED_CACHE_SIZE);
+
+    @Id
+    @Schema(description = "ID único do caça-palavras", example = "66f1c2a9e4b0a1b2c3d4e5f6")
+    private String id;
 
     @Schema(description = "Grid do jogo representado como uma string onde cada linha é separada por quebras de linha.", example = "A B C D\nE F G H\nI J K L\nM N O P")
     private String grid;
@@ -39,193 +63,220 @@ public class WordSearch {
     @Schema(description = "Lista de palavras a serem encontradas no caça-palavras.", example = "[\"JAVA\", \"SPRING\", \"JPA\"]")
     private List<String> words;
 
-    private static class Coordinate {
-        int x;
-        int y;
+    @Schema(description = "Palavras pedidas que não couberam no grid.", example = "[\"DESENVOLVIMENTO\"]")
+    private List<String> unplacedWords;
 
-        Coordinate(int x, int y) {
-            this.x = x;
-            this.y = y;
-        }
-    }
+    @Schema(description = "ID do tema de onde as palavras foram sorteadas, se houver.", example = "66f1c2a9e4b0a1b2c3d4e5f6")
+    private String themeId;
+
+    @Schema(description = "Semente que regenera o grid junto com o tamanho e as palavras; basta ela para compartilhar o caça-palavras.", example = "4242")
+    private Long seed;
+
+    @Schema(description = "Versão do gerador usada com a semente.", example = "2")
+    private Integer generatorVersion;
+
+    // gabarito: onde cada palavra ficou; nunca vai para o cliente
+    @JsonIgnore
+    @Schema(hidden = true)
+    private List<WordSearchPlacement> placements;
+
+    // índices do gabarito, montados na primeira verificação
+    @Transient
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Map<String, List<WordSearchPlacement>> placementsByWord;
+
+    @Transient
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Map<Long, WordSearchPlacement> placementsBySelection;
 
     public WordSearch(int gridSize, List<String> wordList) {
+        this(gridSize, wordList, new SplittableRandom());
+    }
+
+    /**
+     * Gera o caça-palavras a partir de um gerador explícito: a mesma semente gera o mesmo grid.
+     *
+     * @param random Fonte de aleatoriedade (não é thread-safe, um por thread).
+     */
+    public WordSearch(int gridSize, List<String> wordList, SplittableRandom random) {
         this.gridSize = gridSize;
 
         this.words = wordList;
+        setGenerated(WordSearchGridBuilder.build(gridSize, wordList, GENERATOR_VERSION, random), GENERATOR_VERSION, wordList);
+    }
 
-        char[][] grid = generateGrid(gridSize, wordList);
-        String gridToString = "";
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = 0; j < gridSize; j++) {
-                gridToString += grid[i][j] + " ";
-            }
-            gridToString += "\r\n";
-        }
-        this.grid = gridToString;
+    /**
+     * Gera (ou pega do cache) o caça-palavras identificado por tamanho, palavras e semente.
+     * No Mongo fica só essa chave; o grid é gerado de novo na leitura.
+     */
+    public static WordSearch fromSeed(int gridSize, List<String> wordList, long seed) {
+        WordSearch wordSearch = seeded(gridSize, wordList, seed);
+        wordSearch.regenerateGrid();
+        return wordSearch;
     }
 
     /**
-     * Gera o grid do caça-palavras preenchendo com palavras e letras aleatórias.
+     * Gera o caça-palavras pela semente com prazo para a colocação das palavras. Se o prazo interromper
+     * a busca, o grid não sai igual de novo a partir da semente: a semente é descartada e o grid é salvo inteiro.
+     * Não passa pelo cache: é o caminho das gerações novas, que só são gravadas e não devem tirar do cache
+     * os grids que são lidos.
      *
-     * @param gridSize Tamanho do grid (dimensão do grid quadrado).
-     * @param words Lista de palavras a serem inseridas no grid.
-     * @return Um array bidimensional de caracteres representando o grid do caça-palavras.
+     * @param deadlineNanos instante (System.nanoTime) em que a busca para de voltar atrás.
      */
-    private static char[][] generateGrid(int gridSize, List<String> words) {
-        List<Coordinate> coordinates = new ArrayList<>();
-        char[][] contents = new char[gridSize][gridSize];
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = 0; j < gridSize; j++) {
-                coordinates.add(new Coordinate(i, j));
-                contents[i][j] = '_';
-            }
+    public static WordSearch fromSeed(int gridSize, List<String> wordList, long seed, long deadlineNanos) {
+        WordSearch wordSearch = seeded(gridSize, wordList, seed);
+        WordSearchGrid generated = WordSearchGridBuilder.build(gridSize, wordList, GENERATOR_VERSION, new SplittableRandom(seed), deadlineNanos);
+        wordSearch.setGenerated(generated, GENERATOR_VERSION, wordList);
+        if (generated.isTimedOut()) {
+            wordSearch.seed = null;
+            wordSearch.generatorVersion = null;
         }
-
-        for (String word : words) {
-            Collections.shuffle(coordinates);
-            for (Coordinate coordinate : coordinates) {
-                int x = coordinate.x;
-                int y = coordinate.y;
-                WordSearchDirection selectedWordSearchDirection = getDirectionForFit(contents, word, coordinate);
-                if (selectedWordSearchDirection != null) {
-                    switch (selectedWordSearchDirection) {
-                        case HORIZONTAL -> {
-                            for (char c : word.toCharArray()) {
-                                contents[x][y++] = c;
-                            }
-                        }
-                        case VERTICAL -> {
-                            for (char c : word.toCharArray()) {
-                                contents[x++][y] = c;
-                            }
-                        }
-                        case DIAGONAL -> {
-                            for (char c : word.toCharArray()) {
-                                contents[x++][y++] = c;
-                            }
-                        }
-                        case HORIZONTAL_INVERSE -> {
-                            for (char c : word.toCharArray()) {
-                                contents[x][y--] = c;
-                            }
-                        }
-                        case VERTICAL_INVERSE -> {
-                            for (char c : word.toCharArray()) {
-                                contents[x--][y] = c;
-                            }
-                        }
-                        case DIAGONAL_INVERSE -> {
-                            for (char c : word.toCharArray()) {
-                                contents[x--][y--] = c;
-                            }
-                        }
-                    }
-                    break;
-                }
-            }
-        }
-        randomFillGrid(contents);
-        return contents;
+        return wordSearch;
     }
 
     /**
-     * Preenche as células restantes do grid com letras aleatórias.
-     *
-     * @param contents O grid do caça-palavras que será preenchido com letras aleatórias.
+     * Gera o caça-palavras de uma semente nova, sem prazo e sem passar pelo cache (ver o fromSeed com prazo).
      */
-    private static void randomFillGrid(char[][] contents) {
-        int gridSize = contents[0].length;
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = 0; j < gridSize; j++) {
-                if (contents[i][j] == '_') {
-                    int randomIndex = ThreadLocalRandom.current().nextInt(0, ALL_CAP_LETTERS.length());
-                    contents[i][j] = ALL_CAP_LETTERS.charAt(randomIndex);
-                }
-            }
-        }
+    public static WordSearch fromNewSeed(int gridSize, List<String> wordList, long seed) {
+        return fromSeed(gridSize, wordList, seed, WordSearchGridBuilder.NO_DEADLINE);
+    }
+
+    private static WordSearch seeded(int gridSize, List<String> wordList, long seed) {
+        WordSearch wordSearch = new WordSearch();
+        wordSearch.gridSize = gridSize;
+        wordSearch.words = wordList;
+        wordSearch.seed = seed;
+        wordSearch.generatorVersion = GENERATOR_VERSION;
+        return wordSearch;
     }
 
     /**
-     * Determina a direção em que uma palavra pode ser inserida no grid, verificando se a palavra se encaixa.
-     *
-     * @param contents O grid do caça-palavras.
-     * @param word A palavra a ser inserida.
-     * @param coordinate A coordenada inicial onde a palavra será tentada.
-     * @return A direção selecionada para a inserção da palavra, ou null se a palavra não se encaixar em nenhuma direção.
+     * Gera de novo o grid a partir da semente, usando o cache dos grids mais acessados.
      */
-    private static WordSearchDirection getDirectionForFit(char[][] contents, String word, Coordinate coordinate) {
-        List<WordSearchDirection> wordSearchDirections = Arrays.asList(WordSearchDirection.values());
-        Collections.shuffle(wordSearchDirections);
-        for (WordSearchDirection wordSearchDirection : wordSearchDirections) {
-            if (doesFit(contents, word, coordinate, wordSearchDirection)) {
-                return wordSearchDirection;
+    public void regenerateGrid() {
+        if (generatorVersion == null || generatorVersion < FIRST_SUPPORTED_VERSION || generatorVersion > GENERATOR_VERSION) {
+            throw new IllegalArgumentException("Versão do gerador não suportada: " + generatorVersion);
+        }
+        long gridSeed = seed;
+        int version = generatorVersion;
+        List<String> requested = requestedWords(version);
+        List<String> keyWords = version >= REPORTS_UNPLACED_VERSION ? WordSearchGridBuilder.placementOrder(requested) : List.copyOf(requested);
+        setGenerated(SEEDED_GRIDS.get(List.of(gridSize, version, gridSeed, keyWords),
+                key -> WordSearchGridBuilder.build(gridSize, keyWords, version, new SplittableRandom(gridSeed))), version, requested);
+    }
+
+    /*
+     * Palavras pedidas na geração: nas versões que tiram de words as que não couberam, elas voltam de unplacedWords.
+     * */
+    private List<String> requestedWords(int version) {
+        if (version < REPORTS_UNPLACED_VERSION || unplacedWords == null || unplacedWords.isEmpty()) return words;
+        List<String> requested = new ArrayList<>(words);
+        requested.addAll(unplacedWords);
+        return requested;
+    }
+
+    /*
+     * Nas versões que informam as palavras de fora, words fica só com as colocadas, na ordem pedida.
+     * */
+    private void setGenerated(WordSearchGrid generated, int version, List<String> requested) {
+        this.grid = generated.getGrid();
+        this.placements = generated.getPlacements();
+        this.unplacedWords = generated.getUnplacedWords();
+        if (version >= REPORTS_UNPLACED_VERSION) {
+            List<String> placedWords = new ArrayList<>(requested.size());
+            List<String> unplaced = new ArrayList<>(unplacedWords.size());
+            for (String word : new LinkedHashSet<>(requested)) {
+                if (unplacedWords.contains(word)) unplaced.add(word);
+                else placedWords.add(word);
             }
+            this.words = placedWords;
+            this.unplacedWords = unplaced;
         }
-        return null;
+        this.placementsByWord = null;
+        this.placementsBySelection = null;
     }
 
     /**
-     * Verifica se uma palavra se encaixa no grid numa determinada coordenada e direção.
+     * Troca as letras de preenchimento que formam palavras bloqueadas por outras sorteadas, até não sobrar
+     * nenhuma ou acabarem as rodadas. Letras das palavras do jogo nunca mudam. Se o grid mudar, a semente
+     * não o reproduz mais: ela é descartada e o grid passa a ser salvo inteiro.
      *
-     * @param contents O grid do caça-palavras.
-     * @param word A palavra a ser verificada.
-     * @param coordinate A coordenada inicial.
-     * @param wordSearchDirection A direção para verificar o encaixe da palavra.
-     * @return true se a palavra se encaixa no grid na coordenada e direção especificadas; false caso contrário.
+     * @return true se alguma letra foi trocada.
      */
-    private static boolean doesFit(char[][] contents, String word, Coordinate coordinate, WordSearchDirection wordSearchDirection) {
-        int gridSize = contents[0].length;
-        int wordLength = word.length();
-        switch (wordSearchDirection) {
-            case HORIZONTAL -> {
-                if (coordinate.y + wordLength > gridSize) return false;
-                for (int i = 0; i < wordLength; i++) {
-                    char letter = contents[coordinate.x][coordinate.y + i];
-                    if (letter != '_' && letter != word.charAt(i)) return false;
-                }
-            }
-            case VERTICAL -> {
-                if (coordinate.x + wordLength > gridSize) return false;
-                for (int i = 0; i < wordLength; i++) {
-                    char letter = contents[coordinate.x + i][coordinate.y];
-                    if (letter != '_' && letter != word.charAt(i)) return false;
-                }
-            }
-            case DIAGONAL -> {
-                if (coordinate.x + wordLength > gridSize || coordinate.y + wordLength > gridSize) return false;
-                for (int i = 0; i < wordLength; i++) {
-                    char letter = contents[coordinate.x + i][coordinate.y + i];
-                    if (letter != '_' && letter != word.charAt(i)) return false;
-                }
-            }
-            case HORIZONTAL_INVERSE -> {
-                if (coordinate.y < wordLength) return false;
-                for (int i = 0; i < wordLength; i++) {
-                    char letter = contents[coordinate.x][coordinate.y - i];
-                    if (letter != '_' && letter != word.charAt(i)) return false;
-                }
-            }
-            case VERTICAL_INVERSE -> {
-                if (coordinate.x < wordLength) return false;
-                for (int i = 0; i < wordLength; i++) {
-                    char letter = contents[coordinate.x - i][coordinate.y];
-                    if (letter != '_' && letter != word.charAt(i)) return false;
+    public boolean repairFill(WordScanner blocked, SplittableRandom random) {
+        if (blocked.size() == 0) return false;
+
+        char[] cells = WordSearchGridBuilder.cells(grid, gridSize);
+        boolean[] placed = new boolean[cells.length];
+        if (placements == null) locateWords();
+        for (WordSearchPlacement placement : placements) {
+            int step = placement.getDirection().getRowStep() * gridSize + placement.getDirection().getColStep();
+            int cell = placement.getRow() * gridSize + placement.getCol();
+            for (int i = 0; i < placement.getLength(); i++, cell += step) placed[cell] = true;
+        }
+
+        boolean[] dirty = new boolean[cells.length];
+        boolean changed = false;
+        for (int round = 0; round < MAX_REPAIR_ROUNDS; round++) {
+            boolean[] found = {false};
+            blocked.scan(cells, gridSize, (word, startCell, endCell) -> {
+                int length = blocked.word(word).length();
+                int step = length > 1 ? (endCell - startCell) / (length - 1) : 0;
+                for (int i = 0, cell = startCell; i < length; i++, cell += step) {
+                    if (!placed[cell]) {
+                        dirty[cell] = true;
+                        found[0] = true;
+                    }
                 }
-            }
-            case DIAGONAL_INVERSE -> {
-                if (coordinate.x < wordLength || coordinate.y < wordLength) return false;
-                for (int i = 0; i < wordLength; i++) {
-                    char letter = contents[coordinate.x - i][coordinate.y - i];
-                    if (letter != '_' && letter != word.charAt(i)) return false;
+            });
+            if (!found[0]) break;
+
+            for (int cell = 0; cell < cells.length; cell++) {
+                if (dirty[cell]) {
+                    cells[cell] = WordSearchGridBuilder.randomLetter(random);
+                    dirty[cell] = false;
                 }
             }
+            changed = true;
         }
-        return true;
+
+        if (changed) {
+            grid = WordSearchGridBuilder.render(cells, gridSize);
+            seed = null;
+            generatorVersion = null;
+        }
+        return changed;
+    }
+
+    /**
+     * @return letras da seleção, da primeira até a última célula, ou null se ela não é uma linha do grid.
+     */
+    public String readSelection(int startRow, int startCol, int endRow, int endCol) {
+        if (!inGrid(startRow, startCol) || !inGrid(endRow, endCol)) return null;
+        int rowDelta = endRow - startRow;
+        int colDelta = endCol - startCol;
+        if (rowDelta != 0 && colDelta != 0 && Math.abs(rowDelta) != Math.abs(colDelta)) return null;
+        // só as seis direções do jogo: a outra diagonal não vale
+        if (Integer.signum(rowDelta) * Integer.signum(colDelta) < 0) return null;
+
+        int length = Math.max(Math.abs(rowDelta), Math.abs(colDelta)) + 1;
+        int lineLength = gridSize * 2 + 2;
+        char[] letters = new char[length];
+        for (int i = 0; i < length; i++) {
+            int r = startRow + Integer.signum(rowDelta) * i;
+            int c = startCol + Integer.signum(colDelta) * i;
+            letters[i] = grid.charAt(r * lineLength + c * 2);
+        }
+        return new String(letters);
     }
 
     /**
      * Verifica se a palavra selecionada pelo jogador está correta em qualquer direção.
+     * O acerto é uma consulta no gabarito; só o erro lê as letras do grid, direto na string.
      *
      * @param startX Coordenada X de início da palavra no grid.
      * @param startY Coordenada Y de início da palavra no grid.
@@ -233,86 +284,154 @@ public class WordSearch {
      * @return true se a palavra selecionada está correta em qualquer direção, false caso contrário.
      */
     public boolean isWordCorrect(int startX, int startY, String word) {
-        int wordLength = word.length();
-
-        char[][] gridArray = convertGridToArray();
+        for (WordSearchPlacement placement : placementsByWord().getOrDefault(word, List.of())) {
+            if (placement.getRow() == startX && placement.getCol() == startY) return true;
+        }
+        // a palavra pode ter se formado por acaso em outro lugar das letras aleatórias
+        for (WordSearchDirection direction : WordSearchDirection.values()) {
+            if (matches(startX, startY, direction, word)) return true;
+        }
+        return false;
+    }
 
-        if (checkHorizontal(gridArray, startX, startY, word, wordLength)) return true;
-        if (checkVertical(gridArray, startX, startY, word, wordLength)) return true;
-        if (checkDiagonal(gridArray, startX, startY, word, wordLength)) return true;
+    /**
+     * @return posição da palavra no gabarito, ou null se ela não está no grid.
+     */
+    public WordSearchPlacement findWord(String word) {
+        List<WordSearchPlacement> found = placementsByWord().get(word);
+        return found == null ? null : found.get(0);
+    }
 
-        if (checkHorizontalInverse(gridArray, startX, startY, word, wordLength)) return true;
-        if (checkVerticalInverse(gridArray, startX, startY, word, wordLength)) return true;
-        return checkDiagonalInverse(gridArray, startX, startY, word, wordLength);
+    /**
+     * Igual a {@link #findWord(String)}, mas a palavra tem que começar na célula informada.
+     *
+     * @return posição da palavra que começa em (startRow, startCol), ou null se não há.
+     */
+    public WordSearchPlacement findWord(String word, int startRow, int startCol) {
+        for (WordSearchPlacement placement : placementsByWord().getOrDefault(word, List.of())) {
+            if (placement.getRow() == startRow && placement.getCol() == startCol) return placement;
+        }
+        return null;
     }
 
     /**
-     * Converte o grid em string para uma matriz bidimensional de caracteres.
+     * Confere a seleção do jogador, da primeira até a última letra, em qualquer um dos dois sentidos.
      *
-     * @return Matriz bidimensional representando o grid.
+     * @return a palavra selecionada, ou null se a seleção não corresponde a nenhuma palavra.
      */
-    private char[][] convertGridToArray() {
-        String[] rows = this.grid.split("\r\n");
-        char[][] gridArray = new char[gridSize][gridSize];
-        for (int i = 0; i < gridSize; i++) {
-            String[] columns = rows[i].split(" ");
-            for (int j = 0; j < gridSize; j++) {
-                gridArray[i][j] = columns[j].charAt(0);
-            }
+    public WordSearchPlacement findSelection(int startRow, int startCol, int endRow, int endCol) {
+        if (!inGrid(startRow, startCol) || !inGrid(endRow, endCol)) return null;
+        WordSearchPlacement placement = placementsBySelection().get(selectionKey(startRow, startCol, endRow, endCol));
+        return placement != null ? placement : matchSelection(startRow, startCol, endRow, endCol);
+    }
+
+    /*
+     * Fora do gabarito: confere se a seleção forma por acaso alguma das palavras, em qualquer sentido.
+     * */
+    private WordSearchPlacement matchSelection(int startRow, int startCol, int endRow, int endCol) {
+        int rowDelta = endRow - startRow;
+        int colDelta = endCol - startCol;
+        if (rowDelta != 0 && colDelta != 0 && Math.abs(rowDelta) != Math.abs(colDelta)) return null;
+
+        int length = Math.max(Math.abs(rowDelta), Math.abs(colDelta)) + 1;
+        WordSearchDirection forward = directionOf(Integer.signum(rowDelta), Integer.signum(colDelta));
+        WordSearchDirection backward = directionOf(-Integer.signum(rowDelta), -Integer.signum(colDelta));
+        for (String word : words) {
+            if (word.length() != length) continue;
+            if (forward != null && matches(startRow, startCol, forward, word)) return new WordSearchPlacement(word, startRow, startCol, forward, length);
+            if (backward != null && matches(endRow, endCol, backward, word)) return new WordSearchPlacement(word, endRow, endCol, backward, length);
         }
-        return gridArray;
+        return null;
     }
 
-    // Verifica horizontalmente da esquerda para a direita
-    private boolean checkHorizontal(char[][] gridArray, int startX, int startY, String word, int wordLength) {
-        if (startY + wordLength > gridSize) return false;
-        for (int i = 0; i < wordLength; i++) {
-            if (gridArray[startX][startY + i] != word.charAt(i)) return false;
+    private WordSearchDirection directionOf(int rowStep, int colStep) {
+        for (WordSearchDirection direction : WordSearchDirection.values()) {
+            if (direction.getRowStep() == rowStep && direction.getColStep() == colStep) return direction;
         }
-        return true;
+        return null;
     }
 
-    // Verifica verticalmente de cima para baixo
-    private boolean checkVertical(char[][] gridArray, int startX, int startY, String word, int wordLength) {
-        if (startX + wordLength > gridSize) return false;
-        for (int i = 0; i < wordLength; i++) {
-            if (gridArray[startX + i][startY] != word.charAt(i)) return false;
+    /**
+     * Caça-palavras salvos antes do gabarito: procura cada palavra no grid uma única vez e monta o gabarito.
+     *
+     * @return true se o gabarito foi montado agora (e precisa ser salvo).
+     */
+    public boolean locateWords() {
+        if (placements != null) return false;
+
+        List<WordSearchPlacement> located = new ArrayList<>(words.size());
+        for (String word : words) {
+            WordSearchPlacement placement = locate(word);
+            if (placement != null) located.add(placement);
         }
+        placements = located;
+        placementsByWord = null;
+        placementsBySelection = null;
         return true;
     }
 
-    // Verifica diagonalmente de cima para baixo, da esquerda para a direita
-    private boolean checkDiagonal(char[][] gridArray, int startX, int startY, String word, int wordLength) {
-        if (startX + wordLength > gridSize || startY + wordLength > gridSize) return false;
-        for (int i = 0; i < wordLength; i++) {
-            if (gridArray[startX + i][startY + i] != word.charAt(i)) return false;
+    private WordSearchPlacement locate(String word) {
+        for (int row = 0; row < gridSize; row++) {
+            for (int col = 0; col < gridSize; col++) {
+                for (WordSearchDirection direction : WordSearchDirection.values()) {
+                    if (matches(row, col, direction, word)) return new WordSearchPlacement(word, row, col, direction, word.length());
+                }
+            }
         }
-        return true;
+        return null;
     }
 
-    // Verifica horizontalmente da direita para a esquerda
-    private boolean checkHorizontalInverse(char[][] gridArray, int startX, int startY, String word, int wordLength) {
-        if (startY - wordLength < 0) return false;
-        for (int i = 0; i < wordLength; i++) {
-            if (gridArray[startX][startY - i] != word.charAt(i)) return false;
+    private Map<String, List<WordSearchPlacement>> placementsByWord() {
+        Map<String, List<WordSearchPlacement>> index = placementsByWord;
+        if (index == null) {
+            locateWords();
+            index = new HashMap<>();
+            for (WordSearchPlacement placement : placements) {
+                index.computeIfAbsent(placement.getWord(), word -> new ArrayList<>(1)).add(placement);
+            }
+            placementsByWord = index;
         }
-        return true;
+        return index;
     }
 
-    // Verifica verticalmente de baixo para cima
-    private boolean checkVerticalInverse(char[][] gridArray, int startX, int startY, String word, int wordLength) {
-        if (startX - wordLength < 0) return false;
-        for (int i = 0; i < wordLength; i++) {
-            if (gridArray[startX - i][startY] != word.charAt(i)) return false;
+    private Map<Long, WordSearchPlacement> placementsBySelection() {
+        Map<Long, WordSearchPlacement> index = placementsBySelection;
+        if (index == null) {
+            locateWords();
+            index = new HashMap<>();
+            for (WordSearchPlacement placement : placements) {
+                index.put(selectionKey(placement.getRow(), placement.getCol(), placement.endRow(), placement.endCol()), placement);
+                index.put(selectionKey(placement.endRow(), placement.endCol(), placement.getRow(), placement.getCol()), placement);
+            }
+            placementsBySelection = index;
         }
-        return true;
+        return index;
+    }
+
+    private long selectionKey(int startRow, int startCol, int endRow, int endCol) {
+        long cells = (long) gridSize * gridSize;
+        return (startRow * (long) gridSize + startCol) * cells + endRow * (long) gridSize + endCol;
     }
 
-    // Verifica diagonalmente de baixo para cima, da direita para a esquerda
-    private boolean checkDiagonalInverse(char[][] gridArray, int startX, int startY, String word, int wordLength) {
-        if (startX - wordLength < 0 || startY - wordLength < 0) return false;
-        for (int i = 0; i < wordLength; i++) {
-            if (gridArray[startX - i][startY - i] != word.charAt(i)) return false;
+    private boolean inGrid(int row, int col) {
+        return row >= 0 && col >= 0 && row < gridSize && col < gridSize;
+    }
+
+    /*
+     * Confere a palavra letra a letra no grid a partir da posição, sem converter o grid:
+     * cada linha da string tem gridSize * 2 + 2 caracteres ("A B ... \r\n").
+     * */
+    private boolean matches(int row, int col, WordSearchDirection direction, String word) {
+        int length = word.length();
+        int endRow = row + direction.getRowStep() * (length - 1);
+        int endCol = col + direction.getColStep() * (length - 1);
+        if (length == 0 || !inGrid(row, col) || !inGrid(endRow, endCol)) return false;
+
+        int lineLength = gridSize * 2 + 2;
+        for (int i = 0; i < length; i++) {
+            int r = row + direction.getRowStep() * i;
+            int c = col + direction.getColStep() * i;
+            if (grid.charAt(r * lineLength + c * 2) != word.charAt(i)) return false;
         }
         return true;
     }
@@ -0,0 +1,37 @@
+/*
+ * Classe WordSearchBatchResult
+ * Resultado da verificação de várias seleções de um caça-palavras
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Resultado de um lote de seleções: uma verificação por seleção e a pontuação do lote")
+public class WordSearchBatchResult {
+    @Schema(description = "Verificação de cada seleção, na ordem enviada")
+    private List<WordSearchVerification> results;
+
+    @Schema(description = "Palavras do jogo encontradas no lote (sem repetir)", example = "5")
+    private int wordsFound;
+
+    @Schema(description = "Palavras bônus encontradas no lote (sem repetir)", example = "1")
+    private int bonusWords;
+
+    @Schema(description = "Total de palavras do jogo", example = "8")
+    private int totalWords;
+
+    @Schema(description = "Pontuação do lote: pontos por letra das palavras encontradas, metade nas bônus", example = "270")
+    private int score;
+}
@@ -8,5 +8,27 @@
 package goldenage.delfis.api.mongo.model;
 
 public enum WordSearchDirection {
-    HORIZONTAL, VERTICAL, DIAGONAL, HORIZONTAL_INVERSE, VERTICAL_INVERSE, DIAGONAL_INVERSE
+    HORIZONTAL(0, 1), VERTICAL(1, 0), DIAGONAL(1, 1), HORIZONTAL_INVERSE(0, -1), VERTICAL_INVERSE(-1, 0), DIAGONAL_INVERSE(-1, -1);
+
+    private final int rowStep;
+    private final int colStep;
+
+    WordSearchDirection(int rowStep, int colStep) {
+        this.rowStep = rowStep;
+        this.colStep = colStep;
+    }
+
+    /**
+     * @return quanto a linha anda a cada letra (-1, 0 ou 1).
+     */
+    public int getRowStep() {
+        return rowStep;
+    }
+
+    /**
+     * @return quanto a coluna anda a cada letra (-1, 0 ou 1).
+     */
+    public int getColStep() {
+        return colStep;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+/*
+ * Classe WordSearchGrid
+ * Grid gerado da entidade WordSearch junto com o gabarito
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Resultado do WordSearchGridBuilder: o grid em string, onde cada palavra ficou e as que não couberam.
+ * Imutável, então pode ser compartilhado pelo cache dos grids gerados por semente.
+ */
+@Getter
+@AllArgsConstructor
+public class WordSearchGrid {
+    private final String grid;
+    private final List<WordSearchPlacement> placements;
+    private final List<String> unplacedWords;
+    // o prazo interrompeu a busca: o grid não sai igual de novo a partir da semente
+    private final boolean timedOut;
+}
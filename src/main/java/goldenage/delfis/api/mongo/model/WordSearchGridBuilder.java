@@ -0,0 +1,398 @@
+/*
+ * Classe WordSearchGridBuilder
+ * Gerador do grid da entidade WordSearch
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Monta o grid do caça-palavras num único char[] (célula = linha * gridSize + coluna), com as posições
+ * de início num int[] permutado in-place a cada palavra e a ordem das direções num array pré-alocado.
+ * Não cria objetos por célula nem por tentativa; a string final sai de uma cópia só.
+ * <p>
+ * Versão 2 embaralha sob demanda (Fisher-Yates para frente): sorteia só as posições e direções que
+ * chega a tentar, então cada palavra custa o número de tentativas e não o tamanho do grid.
+ * Versão 1 embaralha tudo a cada palavra, na mesma sequência de sorteios da implementação original,
+ * para os caça-palavras salvos com ela continuarem iguais.
+ * <p>
+ * Versão 3 coloca as palavras da maior para a menor, cada uma nas posições que mais reaproveitam letras
+ * já escritas, e volta atrás (backtracking) quando uma palavra não cabe. O esforço é limitado por um
+ * número de testes proporcional ao grid e às palavras, e opcionalmente por um prazo; quando acaba,
+ * as palavras que faltam entram onde couberem sem voltar atrás, e as que não couberem são informadas.
+ */
+class WordSearchGridBuilder {
+    private static final String ALL_CAP_LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final char EMPTY = '_';
+    private static final WordSearchDirection[] DIRECTIONS = WordSearchDirection.values();
+    public static final long NO_DEADLINE = Long.MIN_VALUE;
+    // posições guardadas por palavra para voltar atrás, as de mais letras reaproveitadas primeiro
+    private static final int MAX_CANDIDATES = 8;
+    // limite de testes de posição: BACKTRACK_FACTOR vezes o custo de colocar cada palavra uma vez
+    private static final int BACKTRACK_FACTOR = 4;
+
+    private final int gridSize;
+    private final SplittableRandom random;
+    private final char[] contents;
+    private final int[] starts;
+    private final WordSearchDirection[] directions = new WordSearchDirection[DIRECTIONS.length];
+    private final int[] directionOrder = {0, 1, 2, 3, 4, 5};
+    private final List<WordSearchPlacement> placements = new ArrayList<>();
+    private final int[] scores = new int[MAX_CANDIDATES];
+    private long fitChecks;
+
+    WordSearchGridBuilder(int gridSize, SplittableRandom random) {
+        this.gridSize = gridSize;
+        this.random = random;
+        this.contents = new char[gridSize * gridSize];
+        this.starts = new int[gridSize * gridSize];
+        for (int cell = 0; cell < contents.length; cell++) {
+            contents[cell] = EMPTY;
+            starts[cell] = cell;
+        }
+    }
+
+    /**
+     * Gera o grid sem prazo: o resultado depende só da semente.
+     *
+     * @return grid, posição de cada palavra colocada e palavras que ficaram de fora.
+     */
+    static WordSearchGrid build(int gridSize, List<String> words, int version, SplittableRandom random) {
+        return build(gridSize, words, version, random, NO_DEADLINE);
+    }
+
+    /**
+     * Gera o grid e converte para string, uma linha por vez com as letras separadas por espaço.
+     *
+     * @param deadlineNanos instante (System.nanoTime) em que a versão 3 para de voltar atrás; NO_DEADLINE para não ter prazo.
+     * @return grid, posição de cada palavra colocada e palavras que ficaram de fora.
+     */
+    static WordSearchGrid build(int gridSize, List<String> words, int version, SplittableRandom random, long deadlineNanos) {
+        WordSearchGridBuilder builder = new WordSearchGridBuilder(gridSize, random);
+        boolean timedOut = false;
+        if (version >= 3) {
+            timedOut = !builder.placeAll(words, deadlineNanos);
+        } else {
+            for (String word : words) {
+                if (version == 1) builder.placeShuffled(word);
+                else builder.place(word);
+            }
+        }
+        builder.randomFill();
+
+        Set<String> placed = new LinkedHashSet<>();
+        for (WordSearchPlacement placement : builder.placements) placed.add(placement.getWord());
+        List<String> unplaced = new ArrayList<>();
+        for (String word : new LinkedHashSet<>(words)) {
+            if (!placed.contains(word)) unplaced.add(word);
+        }
+        return new WordSearchGrid(builder.render(), List.copyOf(builder.placements), List.copyOf(unplaced), timedOut);
+    }
+
+    /**
+     * Ordem em que a versão 3 coloca as palavras: maiores primeiro, empate em ordem alfabética, sem repetidas.
+     * Não depende da ordem recebida, então a mesma semente gera o mesmo grid para o mesmo conjunto de palavras.
+     */
+    static List<String> placementOrder(List<String> words) {
+        List<String> ordered = new ArrayList<>(new LinkedHashSet<>(words));
+        ordered.sort(Comparator.comparingInt(String::length).reversed().thenComparing(Comparator.naturalOrder()));
+        return ordered;
+    }
+
+    /*
+     * Versão 3: busca em profundidade sobre as palavras, cada uma com até MAX_CANDIDATES posições.
+     * O estado de cada nível fica em arrays (candidatos, próximo a tentar, células escritas), sem recursão.
+     * Devolve false só se o prazo acabou; o limite de testes é determinístico.
+     * */
+    private boolean placeAll(List<String> words, long deadlineNanos) {
+        List<String> ordered = new ArrayList<>();
+        for (String word : placementOrder(words)) {
+            if (!word.isEmpty() && word.length() <= gridSize) ordered.add(word);
+        }
+        int count = ordered.size();
+        int[] candidates = new int[count * MAX_CANDIDATES];
+        int[] candidateCount = new int[count];
+        int[] next = new int[count];
+        int[] writtenOffset = new int[count + 1];
+        int[] written = new int[contents.length];
+        long maxFitChecks = (long) BACKTRACK_FACTOR * count * contents.length * DIRECTIONS.length;
+
+        int depth = 0;
+        if (count > 0) candidateCount[0] = collect(ordered.get(0), candidates, 0);
+        while (depth < count) {
+            if (fitChecks > maxFitChecks || pastDeadline(deadlineNanos)) break;
+            if (next[depth] < candidateCount[depth]) {
+                int candidate = candidates[depth * MAX_CANDIDATES + next[depth]++];
+                writtenOffset[depth + 1] = apply(ordered.get(depth), candidate, written, writtenOffset[depth]);
+                if (++depth < count) {
+                    candidateCount[depth] = collect(ordered.get(depth), candidates, depth * MAX_CANDIDATES);
+                    next[depth] = 0;
+                }
+            } else if (depth == 0) {
+                break;
+            } else {
+                undo(written, writtenOffset[--depth], writtenOffset[depth + 1]);
+            }
+        }
+        boolean timedOut = depth < count && pastDeadline(deadlineNanos);
+
+        // sem mais voltar atrás: cada palavra que falta fica na melhor posição que couber, se houver
+        for (; depth < count; depth++) {
+            int found = collect(ordered.get(depth), candidates, depth * MAX_CANDIDATES);
+            writtenOffset[depth + 1] = found > 0
+                    ? apply(ordered.get(depth), candidates[depth * MAX_CANDIDATES], written, writtenOffset[depth])
+                    : writtenOffset[depth];
+        }
+        return !timedOut;
+    }
+
+    private static boolean pastDeadline(long deadlineNanos) {
+        return deadlineNanos != NO_DEADLINE && System.nanoTime() - deadlineNanos > 0;
+    }
+
+    /*
+     * Testa a palavra em todas as posições (em ordem aleatória, começando cada uma numa direção sorteada)
+     * e guarda as MAX_CANDIDATES que mais reaproveitam letras; no empate fica a sorteada primeiro.
+     * Posições que só passam por cima de letras já escritas não contam: a palavra estaria dentro de outra.
+     * */
+    private int collect(String word, int[] candidates, int offset) {
+        int found = 0;
+        for (int i = 0; i < starts.length; i++) {
+            int start = swap(starts, i, i + random.nextInt(starts.length - i));
+            int x = start / gridSize;
+            int y = start - x * gridSize;
+            int firstDirection = random.nextInt(DIRECTIONS.length);
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                int direction = (firstDirection + d) % DIRECTIONS.length;
+                int overlap = overlap(word, x, y, DIRECTIONS[direction]);
+                if (overlap < 0 || overlap == word.length()) continue;
+                if (found == MAX_CANDIDATES && overlap <= scores[found - 1]) continue;
+
+                int pos = found < MAX_CANDIDATES ? found++ : found - 1;
+                while (pos > 0 && scores[pos - 1] < overlap) {
+                    scores[pos] = scores[pos - 1];
+                    candidates[offset + pos] = candidates[offset + pos - 1];
+                    pos--;
+                }
+                scores[pos] = overlap;
+                candidates[offset + pos] = start * DIRECTIONS.length + direction;
+            }
+        }
+        return found;
+    }
+
+    /*
+     * Quantas letras da palavra já estão no grid na posição, ou -1 se ela não cabe.
+     * */
+    private int overlap(String word, int x, int y, WordSearchDirection direction) {
+        fitChecks++;
+        int last = word.length() - 1;
+        int endX = x + direction.getRowStep() * last;
+        int endY = y + direction.getColStep() * last;
+        if (endX < 0 || endY < 0 || endX >= gridSize || endY >= gridSize) return -1;
+
+        int overlap = 0;
+        int cell = x * gridSize + y;
+        int step = step(direction);
+        for (int i = 0; i <= last; i++, cell += step) {
+            char letter = contents[cell];
+            if (letter == EMPTY) continue;
+            if (letter != word.charAt(i)) return -1;
+            overlap++;
+        }
+        return overlap;
+    }
+
+    /*
+     * Escreve a palavra na posição codificada (início * 6 + direção) e empilha as células que estavam vazias.
+     * @return novo topo da pilha de células escritas.
+     * */
+    private int apply(String word, int candidate, int[] written, int top) {
+        int start = candidate / DIRECTIONS.length;
+        WordSearchDirection direction = DIRECTIONS[candidate % DIRECTIONS.length];
+        int x = start / gridSize;
+        int y = start - x * gridSize;
+        placements.add(new WordSearchPlacement(word, x, y, direction, word.length()));
+
+        int cell = start;
+        int step = step(direction);
+        for (int i = 0; i < word.length(); i++, cell += step) {
+            if (contents[cell] == EMPTY) {
+                contents[cell] = word.charAt(i);
+                written[top++] = cell;
+            }
+        }
+        return top;
+    }
+
+    private void undo(int[] written, int from, int to) {
+        placements.remove(placements.size() - 1);
+        for (int i = from; i < to; i++) contents[written[i]] = EMPTY;
+    }
+
+    /**
+     * Tenta a palavra a partir de cada posição, em ordem aleatória, e em cada posição nas direções
+     * em ordem aleatória; fica na primeira que couber. Se nenhuma couber, a palavra fica de fora.
+     */
+    private void place(String word) {
+        for (int i = 0; i < starts.length; i++) {
+            int start = swap(starts, i, i + random.nextInt(starts.length - i));
+            int x = start / gridSize;
+            int y = start - x * gridSize;
+            for (int d = 0; d < directionOrder.length; d++) {
+                WordSearchDirection direction = DIRECTIONS[swap(directionOrder, d, d + random.nextInt(directionOrder.length - d))];
+                if (doesFit(word, x, y, direction)) {
+                    write(word, x, y, direction);
+                    return;
+                }
+            }
+        }
+    }
+
+    /*
+     * Versão 1: embaralha todas as posições e, a cada posição, todas as direções.
+     * */
+    private void placeShuffled(String word) {
+        shuffle(starts);
+        for (int start : starts) {
+            int x = start / gridSize;
+            int y = start - x * gridSize;
+            System.arraycopy(DIRECTIONS, 0, directions, 0, DIRECTIONS.length);
+            shuffle(directions);
+            for (WordSearchDirection direction : directions) {
+                if (doesFit(word, x, y, direction)) {
+                    write(word, x, y, direction);
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean doesFit(String word, int x, int y, WordSearchDirection direction) {
+        int wordLength = word.length();
+        switch (direction) {
+            case HORIZONTAL -> {
+                if (y + wordLength > gridSize) return false;
+            }
+            case VERTICAL -> {
+                if (x + wordLength > gridSize) return false;
+            }
+            case DIAGONAL -> {
+                if (x + wordLength > gridSize || y + wordLength > gridSize) return false;
+            }
+            case HORIZONTAL_INVERSE -> {
+                if (y < wordLength) return false;
+            }
+            case VERTICAL_INVERSE -> {
+                if (x < wordLength) return false;
+            }
+            case DIAGONAL_INVERSE -> {
+                if (x < wordLength || y < wordLength) return false;
+            }
+        }
+
+        int cell = x * gridSize + y;
+        int step = step(direction);
+        for (int i = 0; i < wordLength; i++, cell += step) {
+            char letter = contents[cell];
+            if (letter != EMPTY && letter != word.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private void write(String word, int x, int y, WordSearchDirection direction) {
+        placements.add(new WordSearchPlacement(word, x, y, direction, word.length()));
+        int cell = x * gridSize + y;
+        int step = step(direction);
+        for (int i = 0; i < word.length(); i++, cell += step) {
+            contents[cell] = word.charAt(i);
+        }
+    }
+
+    /*
+     * Deslocamento no char[] para andar uma letra na direção.
+     * */
+    private int step(WordSearchDirection direction) {
+        return direction.getRowStep() * gridSize + direction.getColStep();
+    }
+
+    private void randomFill() {
+        for (int cell = 0; cell < contents.length; cell++) {
+            if (contents[cell] == EMPTY) contents[cell] = randomLetter(random);
+        }
+    }
+
+    static char randomLetter(SplittableRandom random) {
+        return ALL_CAP_LETTERS.charAt(random.nextInt(ALL_CAP_LETTERS.length()));
+    }
+
+    private String render() {
+        return render(contents, gridSize);
+    }
+
+    /*
+     * "A B C \r\n" por linha, no formato que o isWordCorrect e os clientes já leem.
+     * */
+    static String render(char[] contents, int gridSize) {
+        int lineLength = gridSize * 2 + 2;
+        char[] text = new char[gridSize * lineLength];
+        int pos = 0;
+        for (int cell = 0; cell < contents.length; cell++) {
+            text[pos++] = contents[cell];
+            text[pos++] = ' ';
+            if ((cell + 1) % gridSize == 0) {
+                text[pos++] = '\r';
+                text[pos++] = '\n';
+            }
+        }
+        return new String(text);
+    }
+
+    /*
+     * Caminho inverso do render: uma letra por célula.
+     * */
+    static char[] cells(String grid, int gridSize) {
+        int lineLength = gridSize * 2 + 2;
+        char[] contents = new char[gridSize * gridSize];
+        for (int cell = 0; cell < contents.length; cell++) {
+            contents[cell] = grid.charAt((cell / gridSize) * lineLength + (cell % gridSize) * 2);
+        }
+        return contents;
+    }
+
+    /*
+     * Troca values[i] com values[j] e devolve o novo values[i].
+     * */
+    private static int swap(int[] values, int i, int j) {
+        int picked = values[j];
+        values[j] = values[i];
+        values[i] = picked;
+        return picked;
+    }
+
+    private void shuffle(int[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    private void shuffle(Object[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Object tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+}
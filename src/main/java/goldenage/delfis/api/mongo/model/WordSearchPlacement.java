@@ -0,0 +1,49 @@
+/*
+ * Classe WordSearchPlacement
+ * Posição de uma palavra no grid da entidade WordSearch
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Onde uma palavra foi colocada no grid: início, direção e tamanho.")
+public class WordSearchPlacement {
+    @Schema(description = "Palavra colocada.", example = "JAVA")
+    private String word;
+
+    @Schema(description = "Linha da primeira letra.", example = "2")
+    private int row;
+
+    @Schema(description = "Coluna da primeira letra.", example = "5")
+    private int col;
+
+    @Schema(description = "Direção da palavra.", example = "DIAGONAL")
+    private WordSearchDirection direction;
+
+    @Schema(description = "Quantidade de letras.", example = "4")
+    private int length;
+
+    /**
+     * @return linha da última letra.
+     */
+    public int endRow() {
+        return row + direction.getRowStep() * (length - 1);
+    }
+
+    /**
+     * @return coluna da última letra.
+     */
+    public int endCol() {
+        return col + direction.getColStep() * (length - 1);
+    }
+}
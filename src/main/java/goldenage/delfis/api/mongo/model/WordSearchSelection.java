@@ -0,0 +1,35 @@
+/*
+ * Classe WordSearchSelection
+ * Seleção enviada pelo cliente para verificação
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Seleção do jogador no caça-palavras: a palavra, as células de início e fim, ou as duas")
+public class WordSearchSelection {
+    @Schema(description = "Palavra selecionada; com as células, tem que ser a que está entre elas", example = "JAVA")
+    private String word;
+
+    @Schema(description = "Linha da primeira letra (começa em 0); só com a palavra, é opcional", example = "2")
+    private Integer startRow;
+
+    @Schema(description = "Coluna da primeira letra (começa em 0); só com a palavra, é opcional", example = "5")
+    private Integer startCol;
+
+    @Schema(description = "Linha da última letra (começa em 0)", example = "5")
+    private Integer endRow;
+
+    @Schema(description = "Coluna da última letra (começa em 0)", example = "8")
+    private Integer endCol;
+}
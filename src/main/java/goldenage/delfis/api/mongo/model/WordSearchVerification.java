@@ -0,0 +1,29 @@
+/*
+ * Classe WordSearchVerification
+ * Resultado da verificação de uma seleção no caça-palavras
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Resultado da verificação de uma seleção")
+public class WordSearchVerification {
+    @Schema(description = "Se a seleção corresponde a uma palavra do caça-palavras", example = "true")
+    private boolean correct;
+
+    @Schema(description = "Palavra encontrada, ou nulo se a seleção está errada", example = "JAVA")
+    private String word;
+
+    @Schema(description = "Se a palavra não é do jogo, mas está no dicionário (palavra bônus)", example = "false")
+    private boolean bonus;
+}
@@ -0,0 +1,46 @@
+/*
+ * Classe WordTheme
+ * Model da entidade WordTheme
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Lista de palavras de um tema, usada para gerar caça-palavras.")
+@Document
+public class WordTheme {
+    @Id
+    @Schema(description = "ID único do tema", example = "66f1c2a9e4b0a1b2c3d4e5f6")
+    private String id;
+
+    @NotNull(message = "O nome não pode ser nulo")
+    @Size(min = 2, max = 50, message = "O nome deve ter pelo menos 2 caracteres e no máximo 50")
+    @Schema(description = "Nome do tema", example = "Animais")
+    private String name;
+
+    @NotNull(message = "O idioma não pode ser nulo")
+    @Size(min = 2, max = 10, message = "O idioma deve ter pelo menos 2 caracteres e no máximo 10")
+    @Schema(description = "Idioma das palavras", example = "pt-BR")
+    private String language;
+
+    @NotEmpty(message = "A lista de palavras não pode ser vazia")
+    @Schema(description = "Palavras do tema; são salvas em maiúsculas e sem acentos.", example = "[\"GATO\", \"CACHORRO\", \"ELEFANTE\"]")
+    private List<String> words;
+}
@@ -8,15 +8,19 @@
 package goldenage.delfis.api.mongo.repository;
 
 import goldenage.delfis.api.mongo.model.Sudoku;
-import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 
 public interface SudokuRepository extends MongoRepository<Sudoku, String> {
-    @Aggregation(pipeline = {
-            "{ '$project': { 'filledCellsCount': { '$sum': { '$map': { 'input': '$board', 'as': 'row', 'in': { '$size': { '$filter': { 'input': '$$row', 'as': 'cell', 'cond': { '$ne': ['$$cell', ''] } } } } } } } } }",
-            "{ '$sort': { 'filledCellsCount': -1 } }"
-    })
-    List<Sudoku> findSudokusWithMostFilledCells();
+    /**
+     * Top-K pelo campo filledCells, gravado pelo SudokuWriteConverter e indexado junto com o _id,
+     * então a ordenação e a paginação saem direto do índice.
+     */
+    @Query(value = "{}", sort = "{ 'filledCells': -1, '_id': 1 }")
+    List<Sudoku> findSudokusWithMostFilledCells(Pageable pageable);
+
+    List<Sudoku> findTop500ByDifficultyIsNull();
 }
@@ -0,0 +1,23 @@
+/*
+ * Classe WordFrequencyRepository
+ * Repository da entidade WordFrequency
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.repository;
+
+import goldenage.delfis.api.mongo.model.WordFrequency;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface WordFrequencyRepository extends MongoRepository<WordFrequency, String> {
+    /**
+     * Palavras mais usadas, pelo índice de count.
+     * @param pageable Página e tamanho.
+     * @return As palavras em ordem decrescente de uso.
+     */
+    List<WordFrequency> findAllByOrderByCountDescWordAsc(Pageable pageable);
+}
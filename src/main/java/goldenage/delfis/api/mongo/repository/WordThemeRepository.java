@@ -0,0 +1,14 @@
+/*
+ * Classe WordThemeRepository
+ * Repository da entidade WordTheme
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.repository;
+
+import goldenage.delfis.api.mongo.model.WordTheme;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface WordThemeRepository extends MongoRepository<WordTheme, String> {
+}
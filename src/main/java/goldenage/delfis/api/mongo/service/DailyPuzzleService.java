@@ -0,0 +1,262 @@
+/*
+ * Classe DailyPuzzleService
+ * Puzzles do dia, iguais para todos os usuários
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import goldenage.delfis.api.mongo.model.CompactSudoku;
+import goldenage.delfis.api.mongo.model.Sudoku;
+import goldenage.delfis.api.mongo.model.SudokuDifficulty;
+import goldenage.delfis.api.mongo.model.SudokuGenerator;
+import goldenage.delfis.api.mongo.model.SudokuMove;
+import goldenage.delfis.api.mongo.model.SudokuMoveResult;
+import goldenage.delfis.api.mongo.model.SudokuType;
+import goldenage.delfis.api.mongo.model.WordSearch;
+import goldenage.delfis.api.mongo.model.WordSearchPlacement;
+import goldenage.delfis.api.mongo.model.WordSearchSelection;
+import goldenage.delfis.api.mongo.model.WordSearchVerification;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sudoku do dia (um por SudokuType) e caça-palavras do dia. A semente sai da data, então qualquer
+ * instância gera o mesmo puzzle; mesmo assim ninguém gera na hora da leitura: um job agendado gera
+ * os puzzles de amanhã pouco antes da meia-noite e guarda num cache local (por dia) e no Redis.
+ * A leitura tenta o cache local, depois o Redis e só então gera. Na virada do dia o dia anterior é
+ * descartado dos dois níveis. O modelo não serializa o gabarito (@JsonIgnore), então a cópia do Redis
+ * leva a solução do Sudoku e as posições das palavras à parte: os puzzles do dia não vão para o Mongo,
+ * e a validação das jogadas é feita por data e tipo contra esse gabarito.
+ */
+@Service
+public class DailyPuzzleService {
+    private static final Logger logger = LoggerFactory.getLogger(DailyPuzzleService.class);
+    private static final String KEY_PREFIX = "daily-puzzle:";
+    private static final String WORD_SEARCH = "WORD_SEARCH";
+    private static final SudokuDifficulty DAILY_DIFFICULTY = SudokuDifficulty.MEDIUM;
+    // folga para o dia seguinte e para fusos atrasados; a remoção na virada é explícita
+    private static final Duration REDIS_TTL = Duration.ofHours(48);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final SudokuService sudokuService;
+    private final WordSearchService wordSearchService;
+    private final ZoneId zone;
+    private final int wordSearchGridSize;
+    private final List<String> wordSearchWords;
+
+    private final Map<LocalDate, Map<String, Object>> localCache = new ConcurrentHashMap<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class CachedSudoku {
+        private CompactSudoku sudoku;
+        private byte[] solution;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class CachedWordSearch {
+        private WordSearch wordSearch;
+        private List<WordSearchPlacement> placements;
+    }
+
+    public DailyPuzzleService(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper,
+                              SudokuService sudokuService, WordSearchService wordSearchService,
+                              @Value("${delfis.daily.zone:America/Sao_Paulo}") String zone,
+                              @Value("${delfis.daily.word-search.grid-size:12}") int wordSearchGridSize,
+                              @Value("${delfis.daily.word-search.words}") List<String> wordSearchWords) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.sudokuService = sudokuService;
+        this.wordSearchService = wordSearchService;
+        this.zone = ZoneId.of(zone);
+        this.wordSearchGridSize = wordSearchGridSize;
+        this.wordSearchWords = List.copyOf(wordSearchWords);
+    }
+
+    /**
+     * @return Sudoku do dia para o tipo; cópia, pode ser alterada.
+     */
+    public Sudoku getDailySudoku(SudokuType type) {
+        return new Sudoku(dailySudoku(today(), type));
+    }
+
+    /**
+     * @return caça-palavras do dia.
+     */
+    public WordSearch getDailyWordSearch() {
+        return dailyWordSearch(today());
+    }
+
+    /**
+     * Valida jogadas no Sudoku do dia contra a solução dele.
+     *
+     * @param date dia do puzzle; null é hoje. Aceita hoje e ontem, para quem começou antes da meia-noite.
+     * @return resultado de cada jogada, na mesma ordem.
+     */
+    public List<SudokuMoveResult> validateDailyMoves(LocalDate date, SudokuType type, List<SudokuMove> moves) {
+        return sudokuService.validateMoves(dailySudoku(playableDate(date), type), moves);
+    }
+
+    /**
+     * Verifica uma seleção no caça-palavras do dia contra as posições das palavras.
+     *
+     * @param date dia do puzzle; null é hoje. Aceita hoje e ontem, para quem começou antes da meia-noite.
+     * @return se a seleção está correta, qual palavra ela marca e se é bônus.
+     */
+    public WordSearchVerification verifyDailyWordSearch(LocalDate date, WordSearchSelection selection) {
+        return wordSearchService.verify(dailyWordSearch(playableDate(date)), selection);
+    }
+
+    /**
+     * Gera os puzzles de amanhã antes da meia-noite, para a virada não cair no gerador.
+     */
+    @Scheduled(cron = "0 55 23 * * *", zone = "${delfis.daily.zone:America/Sao_Paulo}")
+    public void precomputeTomorrow() {
+        precompute(today().plusDays(1));
+    }
+
+    /**
+     * Descarta o dia anterior do cache local e do Redis.
+     */
+    @Scheduled(cron = "0 5 0 * * *", zone = "${delfis.daily.zone:America/Sao_Paulo}")
+    public void evictPreviousDays() {
+        LocalDate today = today();
+        localCache.keySet().removeIf(date -> date.isBefore(today));
+
+        LocalDate yesterday = today.minusDays(1);
+        List<String> keys = new ArrayList<>();
+        for (SudokuType type : SudokuType.values()) keys.add(key(yesterday, type.name()));
+        keys.add(key(yesterday, WORD_SEARCH));
+        try {
+            stringRedisTemplate.delete(keys);
+        } catch (DataAccessException e) {
+            logger.warn("Não foi possível remover os puzzles de {} do Redis: {}", yesterday, e.getMessage());
+        }
+    }
+
+    /*
+     * Depois de um restart, deixa o dia atual pronto antes das primeiras leituras.
+     * */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        precompute(today());
+    }
+
+    private void precompute(LocalDate date) {
+        try {
+            for (SudokuType type : SudokuType.values()) dailySudoku(date, type);
+            dailyWordSearch(date);
+            logger.info("Puzzles do dia {} prontos.", date);
+        } catch (RuntimeException e) {
+            logger.error("Erro ao gerar os puzzles do dia {}: ", date, e);
+        }
+    }
+
+    private Sudoku dailySudoku(LocalDate date, SudokuType type) {
+        Map<String, Object> day = localCache.computeIfAbsent(date, d -> new ConcurrentHashMap<>());
+        Sudoku sudoku = (Sudoku) day.get(type.name());
+        if (sudoku != null) return sudoku;
+
+        String key = key(date, type.name());
+        CachedSudoku cached = readRedis(key, CachedSudoku.class);
+        // cópias antigas, sem a solução, contam como ausentes
+        if (cached != null && cached.getSudoku() != null && cached.getSolution() != null) {
+            sudoku = cached.getSudoku().toSudoku();
+            sudoku.setSolution(cached.getSolution());
+        } else {
+            sudoku = SudokuGenerator.generateSeededSudoku(type, DAILY_DIFFICULTY, seedFor(date, type.name()));
+            writeRedis(key, new CachedSudoku(CompactSudoku.of(sudoku), sudoku.getSolution()));
+        }
+        day.put(type.name(), sudoku);
+        return sudoku;
+    }
+
+    private WordSearch dailyWordSearch(LocalDate date) {
+        Map<String, Object> day = localCache.computeIfAbsent(date, d -> new ConcurrentHashMap<>());
+        WordSearch wordSearch = (WordSearch) day.get(WORD_SEARCH);
+        if (wordSearch != null) return wordSearch;
+
+        String key = key(date, WORD_SEARCH);
+        CachedWordSearch cached = readRedis(key, CachedWordSearch.class);
+        if (cached != null && cached.getWordSearch() != null && cached.getPlacements() != null) {
+            wordSearch = cached.getWordSearch();
+            wordSearch.setPlacements(cached.getPlacements());
+        } else {
+            wordSearch = WordSearch.fromSeed(wordSearchGridSize, wordSearchWords, seedFor(date, WORD_SEARCH));
+            writeRedis(key, new CachedWordSearch(wordSearch, wordSearch.getPlacements()));
+        }
+        day.put(WORD_SEARCH, wordSearch);
+        return wordSearch;
+    }
+
+    /*
+     * O Redis é só um nível de cache: se estiver fora, segue com o cache local e o gerador.
+     * */
+    private <T> T readRedis(String key, Class<T> type) {
+        try {
+            String json = stringRedisTemplate.opsForValue().get(key);
+            return json == null ? null : objectMapper.readValue(json, type);
+        } catch (DataAccessException | JsonProcessingException e) {
+            logger.warn("Não foi possível ler {} do Redis: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(String key, Object value) {
+        try {
+            stringRedisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(value), REDIS_TTL);
+        } catch (DataAccessException | JsonProcessingException e) {
+            logger.warn("Não foi possível gravar {} no Redis: {}", key, e.getMessage());
+        }
+    }
+
+    private LocalDate playableDate(LocalDate date) {
+        LocalDate today = today();
+        if (date == null) return today;
+        if (date.isAfter(today) || date.isBefore(today.minusDays(1)))
+            throw new IllegalArgumentException("Só é possível validar o puzzle de hoje ou de ontem.");
+        return date;
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(zone);
+    }
+
+    private static String key(LocalDate date, String puzzle) {
+        return KEY_PREFIX + date + ":" + puzzle;
+    }
+
+    private static long seedFor(LocalDate date, String puzzle) {
+        return new SplittableRandom(date.toEpochDay() * 31 + puzzle.hashCode()).nextLong();
+    }
+}
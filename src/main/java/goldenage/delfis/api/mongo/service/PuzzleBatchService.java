@@ -0,0 +1,123 @@
+/*
+ * Classe PuzzleBatchService
+ * Geração de Sudokus e caça-palavras em lote
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.service;
+
+import goldenage.delfis.api.mongo.model.PuzzleBatchReport;
+import goldenage.delfis.api.mongo.model.PuzzleBatchStats;
+import goldenage.delfis.api.mongo.model.Sudoku;
+import goldenage.delfis.api.mongo.model.SudokuDifficulty;
+import goldenage.delfis.api.mongo.model.SudokuGenerator;
+import goldenage.delfis.api.mongo.model.SudokuType;
+import goldenage.delfis.api.mongo.model.WordSearch;
+import goldenage.delfis.api.mongo.util.WordScanner;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Gera muitos puzzles numa chamada, dividindo o trabalho em blocos no puzzleBatchExecutor.
+ * Cada bloco gera seus puzzles, grava com um insert em lote não ordenado e, nos caça-palavras, soma as palavras
+ * na frequência com um único bulk de $inc.
+ * <p>
+ * A aleatoriedade vem de uma semente: as sementes de cada puzzle saem em ordem do SplittableRandom do lote
+ * antes de distribuir os blocos, então o resultado não depende de qual thread gerou o quê. Os puzzles são
+ * gerados por semente, então no Mongo fica só a chave de cada um.
+ */
+@Service
+public class PuzzleBatchService {
+    public static final int MAX_BATCH_SIZE = 5000;
+    private static final int MAX_CHUNK_SIZE = 500;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final MongoTemplate mongoTemplate;
+    private final ThreadPoolTaskExecutor puzzleBatchExecutor;
+    private final WordThemeService wordThemeService;
+    private final WordFrequencyService wordFrequencyService;
+
+    public PuzzleBatchService(MongoTemplate mongoTemplate, @Qualifier("puzzleBatchExecutor") ThreadPoolTaskExecutor puzzleBatchExecutor,
+                              WordThemeService wordThemeService, WordFrequencyService wordFrequencyService) {
+        this.mongoTemplate = mongoTemplate;
+        this.puzzleBatchExecutor = puzzleBatchExecutor;
+        this.wordThemeService = wordThemeService;
+        this.wordFrequencyService = wordFrequencyService;
+    }
+
+    /**
+     * @param sudokuDifficulty dificuldade pedida para os Sudokus do lote.
+     * @param seed semente do lote; null sorteia uma (devolvida no relatório).
+     * @return semente usada e vazão por tipo de puzzle.
+     */
+    public PuzzleBatchReport generate(SudokuType sudokuType, SudokuDifficulty sudokuDifficulty, int sudokuCount, int gridSize, List<String> words, int wordSearchCount, Long seed) {
+        long batchSeed = seed != null ? seed : new SplittableRandom().nextLong();
+        SplittableRandom root = new SplittableRandom(batchSeed);
+        SplittableRandom sudokuRandom = root.split();
+        SplittableRandom wordSearchRandom = root.split();
+
+        List<PuzzleBatchStats> stats = new ArrayList<>();
+        if (sudokuCount > 0) {
+            stats.add(run(sudokuType.name(), sudokuCount, sudokuRandom, Sudoku.class,
+                    puzzleSeed -> SudokuGenerator.generateNewSeededSudoku(sudokuType, sudokuDifficulty, puzzleSeed), inserted -> {}));
+        }
+        if (wordSearchCount > 0) {
+            List<String> wordList = List.copyOf(words);
+            WordScanner blockedWords = wordThemeService.getBlockedWords();
+            stats.add(run("WORD_SEARCH", wordSearchCount, wordSearchRandom, WordSearch.class, puzzleSeed -> {
+                WordSearch wordSearch = WordSearch.fromNewSeed(gridSize, wordList, puzzleSeed);
+                // trocas sorteadas a partir da mesma semente: o lote continua reproduzível
+                wordSearch.repairFill(blockedWords, new SplittableRandom(~puzzleSeed));
+                return wordSearch;
+            }, wordFrequencyService::recordWords));
+        }
+        return new PuzzleBatchReport(batchSeed, stats);
+    }
+
+    private <T> PuzzleBatchStats run(String type, int count, SplittableRandom random, Class<T> entityClass, LongFunction<T> generator,
+                                     Consumer<List<T>> afterInsert) {
+        long start = System.nanoTime();
+        long[] seeds = new long[count];
+        for (int i = 0; i < count; i++) {
+            seeds[i] = random.nextLong();
+        }
+
+        int chunks = puzzleBatchExecutor.getMaxPoolSize() * CHUNKS_PER_THREAD;
+        int chunkSize = Math.min(MAX_CHUNK_SIZE, (count + chunks - 1) / chunks);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int from = 0; from < count; from += chunkSize) {
+            int first = from;
+            int last = Math.min(count, from + chunkSize);
+            futures.add(CompletableFuture.runAsync(() -> {
+                List<T> puzzles = new ArrayList<>(last - first);
+                for (int i = first; i < last; i++) {
+                    puzzles.add(generator.apply(seeds[i]));
+                }
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass).insert(puzzles).execute();
+                afterInsert.accept(puzzles);
+            }, puzzleBatchExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        return new PuzzleBatchStats(type, count, elapsedNanos / 1_000_000L, count * 1_000_000_000.0 / elapsedNanos);
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Classe SudokuPoolService
+ * Estoque de Sudokus pré-gerados por SudokuType e SudokuDifficulty
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.service;
+
+import goldenage.delfis.api.mongo.model.Sudoku;
+import goldenage.delfis.api.mongo.model.SudokuDifficulty;
+import goldenage.delfis.api.mongo.model.SudokuGenerator;
+import goldenage.delfis.api.mongo.model.SudokuType;
+import goldenage.delfis.api.mongo.repository.SudokuRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mantém, para cada SudokuType e SudokuDifficulty, uma fila em memória de Sudokus já gerados,
+ * classificados e salvos no Mongo. Um produtor em background reabastece as filas até o high watermark
+ * sempre que alguma cai abaixo do low watermark, então entregar um Sudoku é só um poll na fila.
+ * <p>
+ * Puzzles gerados para uma dificuldade que saem de outra não são descartados: vão para a fila
+ * da dificuldade real ou, se ela estiver cheia, ficam só no Mongo (índice por tipo/dificuldade) e
+ * são reivindicados quando a fila em memória esvazia.
+ * <p>
+ * Todo Sudoku do estoque, na fila ou não, fica no Mongo com pooled=true; quem o entrega troca para
+ * pooled=false de forma condicional. Assim o que estava nas filas de uma instância que caiu volta a ser
+ * estoque guardado, e um Sudoku que outra instância já reivindicou é descartado da fila em vez de sair duas vezes.
+ */
+@Service
+public class SudokuPoolService {
+    private static final Logger logger = LoggerFactory.getLogger(SudokuPoolService.class);
+    private static final int SAVE_BATCH_SIZE = 10;
+    private static final SudokuDifficulty[] DIFFICULTIES = SudokuDifficulty.values();
+
+    private final MongoTemplate mongoTemplate;
+    private final SudokuRepository sudokuRepository;
+    private final ThreadPoolTaskExecutor sudokuPoolExecutor;
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final int storageCap;
+
+    private final Map<SudokuType, Map<SudokuDifficulty, Bucket>> buckets = new EnumMap<>(SudokuType.class);
+    private final Map<SudokuType, AtomicBoolean> refilling = new EnumMap<>(SudokuType.class);
+    private final Map<SudokuType, Counter> missCounters = new EnumMap<>(SudokuType.class);
+    private final AtomicInteger nextDifficulty = new AtomicInteger();
+    private volatile boolean loaded;
+
+    private static class Bucket {
+        final Queue<Sudoku> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger depth = new AtomicInteger();
+        final AtomicLong stored = new AtomicLong();
+        // a última reposição não conseguiu gerar essa dificuldade; só tenta de novo se alguém pedir
+        volatile boolean starved;
+        Counter generated;
+    }
+
+    public SudokuPoolService(SudokuRepository sudokuRepository, MongoTemplate mongoTemplate,
+                             ThreadPoolTaskExecutor sudokuPoolExecutor, MeterRegistry meterRegistry,
+                             @Value("${delfis.sudoku.pool.low-watermark:20}") int lowWatermark,
+                             @Value("${delfis.sudoku.pool.high-watermark:50}") int highWatermark,
+                             @Value("${delfis.sudoku.pool.storage-cap:500}") int storageCap) {
+        this.sudokuRepository = sudokuRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.sudokuPoolExecutor = sudokuPoolExecutor;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = Math.max(highWatermark, lowWatermark + 1);
+        this.storageCap = storageCap;
+
+        for (SudokuType type : SudokuType.values()) {
+            Map<SudokuDifficulty, Bucket> byDifficulty = new EnumMap<>(SudokuDifficulty.class);
+            for (SudokuDifficulty difficulty : DIFFICULTIES) {
+                Bucket bucket = new Bucket();
+                Gauge.builder("delfis.sudoku.pool.depth", bucket.depth, AtomicInteger::get)
+                        .description("Sudokus prontos no estoque em memória")
+                        .tag("type", type.name())
+                        .tag("difficulty", difficulty.name())
+                        .register(meterRegistry);
+                Gauge.builder("delfis.sudoku.pool.stored", bucket.stored, AtomicLong::get)
+                        .description("Sudokus guardados no Mongo aguardando espaço no estoque em memória")
+                        .tag("type", type.name())
+                        .tag("difficulty", difficulty.name())
+                        .register(meterRegistry);
+                bucket.generated = Counter.builder("delfis.sudoku.pool.generated")
+                        .description("Sudokus gerados pelo reabastecimento do estoque")
+                        .tag("type", type.name())
+                        .tag("difficulty", difficulty.name())
+                        .register(meterRegistry);
+                byDifficulty.put(difficulty, bucket);
+            }
+            buckets.put(type, byDifficulty);
+            refilling.put(type, new AtomicBoolean());
+            missCounters.put(type, Counter.builder("delfis.sudoku.pool.misses")
+                    .description("Pedidos que encontraram o estoque vazio")
+                    .tag("type", type.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Conta os Sudokus guardados no Mongo e dispara o reabastecimento.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPools() {
+        for (SudokuType type : SudokuType.values()) {
+            for (SudokuDifficulty difficulty : DIFFICULTIES) {
+                bucket(type, difficulty).stored.set(mongoTemplate.count(storedQuery(type, difficulty), Sudoku.class));
+            }
+        }
+        loaded = true;
+        checkWatermarks();
+    }
+
+    /**
+     * Verifica periodicamente os estoques abaixo do low watermark.
+     */
+    @Scheduled(fixedDelayString = "${delfis.sudoku.pool.check-interval-ms:5000}")
+    public void checkWatermarks() {
+        if (!loaded) return;
+        for (SudokuType type : SudokuType.values()) {
+            if (needsRefill(type)) requestRefill(type);
+        }
+    }
+
+    /**
+     * Sem dificuldade pedida, tenta as filas em memória, depois o estoque guardado no Mongo e só então
+     * gera na hora um Sudoku fácil.
+     *
+     * @param difficulty dificuldade desejada; null aceita qualquer uma.
+     * @return um Sudoku pronto do tipo pedido.
+     */
+    public Sudoku take(SudokuType type, SudokuDifficulty difficulty) {
+        if (difficulty != null) return take(type, difficulty, true);
+
+        int start = Math.floorMod(nextDifficulty.getAndIncrement(), DIFFICULTIES.length);
+        for (int i = 0; i < DIFFICULTIES.length; i++) {
+            Sudoku sudoku = take(type, DIFFICULTIES[(start + i) % DIFFICULTIES.length], false);
+            if (sudoku != null) return sudoku;
+        }
+        // filas vazias: o que sobrou guardado no Mongo ainda é mais barato que gerar
+        for (int i = 0; i < DIFFICULTIES.length; i++) {
+            Sudoku sudoku = claimStored(type, DIFFICULTIES[(start + i) % DIFFICULTIES.length]);
+            if (sudoku != null) return sudoku;
+        }
+
+        // estoque vazio: gera na hora a dificuldade mais barata, com mais pistas e menos checagens de unicidade
+        missCounters.get(type).increment();
+        requestRefill(type);
+        return sudokuRepository.save(SudokuGenerator.generateNewSeededSudoku(type, DIFFICULTIES[0], ThreadLocalRandom.current().nextLong()));
+    }
+
+    /**
+     * @return quantidade de Sudokus prontos no estoque em memória.
+     */
+    public int getDepth(SudokuType type, SudokuDifficulty difficulty) {
+        return bucket(type, difficulty).depth.get();
+    }
+
+    private Sudoku take(SudokuType type, SudokuDifficulty difficulty, boolean required) {
+        Bucket bucket = bucket(type, difficulty);
+        Sudoku sudoku;
+        while ((sudoku = bucket.queue.poll()) != null) {
+            if (bucket.depth.decrementAndGet() < lowWatermark) requestRefill(type);
+            if (claimQueued(sudoku)) return sudoku;
+        }
+        if (!required) return null;
+
+        sudoku = claimStored(type, difficulty);
+        if (sudoku != null) return sudoku;
+
+        missCounters.get(type).increment();
+        bucket.starved = false;
+        requestRefill(type);
+        throw new EntityNotFoundException("Nenhum Sudoku " + type.name() + " com dificuldade " + difficulty.name() + " disponível no momento.");
+    }
+
+    /*
+     * Reivindica no Mongo um Sudoku que saiu da fila: falha se outra instância já o entregou.
+     * */
+    private boolean claimQueued(Sudoku sudoku) {
+        Query queued = Query.query(Criteria.where("_id").is(sudoku.getId()).and("pooled").is(true));
+        if (mongoTemplate.updateFirst(queued, Update.update("pooled", false), Sudoku.class).getModifiedCount() == 0) return false;
+        sudoku.setPooled(false);
+        return true;
+    }
+
+    /*
+     * Tira um Sudoku do estoque guardado no Mongo de forma atômica (usa o índice tipo/dificuldade/pooled).
+     * */
+    private Sudoku claimStored(SudokuType type, SudokuDifficulty difficulty) {
+        Bucket bucket = bucket(type, difficulty);
+        if (bucket.stored.get() <= 0) return null;
+
+        Sudoku sudoku = mongoTemplate.findAndModify(storedQuery(type, difficulty), Update.update("pooled", false), Sudoku.class);
+        if (sudoku == null) {
+            bucket.stored.set(0);
+            return null;
+        }
+        bucket.stored.decrementAndGet();
+        sudoku.setPooled(false);
+        return sudoku;
+    }
+
+    private Query storedQuery(SudokuType type, SudokuDifficulty difficulty) {
+        return Query.query(Criteria.where("type").is(type).and("difficulty").is(difficulty).and("pooled").is(true));
+    }
+
+    private Bucket bucket(SudokuType type, SudokuDifficulty difficulty) {
+        return buckets.get(type).get(difficulty);
+    }
+
+    private boolean needsRefill(SudokuType type) {
+        for (Bucket bucket : buckets.get(type).values()) {
+            if (bucket.depth.get() < lowWatermark && (!bucket.starved || bucket.stored.get() > 0)) return true;
+        }
+        return false;
+    }
+
+    private void requestRefill(SudokuType type) {
+        AtomicBoolean flag = refilling.get(type);
+        if (!flag.compareAndSet(false, true)) return;
+        try {
+            sudokuPoolExecutor.execute(() -> refill(type));
+        } catch (TaskRejectedException e) {
+            flag.set(false);
+        }
+    }
+
+    private void refill(SudokuType type) {
+        try {
+            // primeiro o que já está guardado no Mongo, que não custa CPU
+            for (SudokuDifficulty difficulty : DIFFICULTIES) loadStored(type, difficulty);
+
+            List<Sudoku> queued = new ArrayList<>(SAVE_BATCH_SIZE);
+            List<Sudoku> stored = new ArrayList<>(SAVE_BATCH_SIZE);
+            for (SudokuDifficulty difficulty : DIFFICULTIES) {
+                Bucket target = bucket(type, difficulty);
+                if (target.depth.get() >= lowWatermark || target.starved) continue;
+
+                boolean produced = false;
+                for (int attempts = 0; target.depth.get() < highWatermark && attempts < highWatermark * 2; attempts++) {
+                    Sudoku sudoku = SudokuGenerator.generateNewSeededSudoku(type, difficulty, ThreadLocalRandom.current().nextLong());
+                    produced |= sudoku.getDifficulty() == difficulty;
+                    route(type, sudoku, queued, stored);
+                    if (queued.size() + stored.size() == SAVE_BATCH_SIZE) {
+                        publish(type, queued, stored);
+                        queued = new ArrayList<>(SAVE_BATCH_SIZE);
+                        stored = new ArrayList<>(SAVE_BATCH_SIZE);
+                    }
+                }
+                if (!produced) target.starved = true;
+            }
+            if (!queued.isEmpty() || !stored.isEmpty()) publish(type, queued, stored);
+        } catch (RuntimeException e) {
+            logger.error("Erro ao reabastecer o estoque de Sudokus {}: ", type.name(), e);
+        } finally {
+            refilling.get(type).set(false);
+        }
+    }
+
+    /*
+     * Traz para a fila em memória, sem reivindicar, Sudokus guardados no Mongo que ainda não estão nela.
+     * Continuam com pooled=true: a reivindicação é na entrega (claimQueued).
+     * */
+    private void loadStored(SudokuType type, SudokuDifficulty difficulty) {
+        Bucket bucket = bucket(type, difficulty);
+        int missing = highWatermark - bucket.depth.get();
+        if (missing <= 0 || bucket.stored.get() <= 0) return;
+
+        List<String> queuedIds = new ArrayList<>();
+        for (Sudoku sudoku : bucket.queue) queuedIds.add(sudoku.getId());
+        Query query = storedQuery(type, difficulty).addCriteria(Criteria.where("_id").nin(queuedIds)).limit(missing);
+        List<Sudoku> loaded = mongoTemplate.find(query, Sudoku.class);
+        if (loaded.isEmpty()) bucket.stored.set(0);
+        for (Sudoku sudoku : loaded) {
+            bucket.queue.add(sudoku);
+            bucket.depth.incrementAndGet();
+            bucket.stored.decrementAndGet();
+        }
+    }
+
+    /*
+     * Decide para onde vai o Sudoku gerado: fila em memória, só o estoque no Mongo ou descarte se os dois
+     * estiverem cheios. Nos dois primeiros casos é salvo com pooled=true.
+     * */
+    private void route(SudokuType type, Sudoku sudoku, List<Sudoku> queued, List<Sudoku> stored) {
+        Bucket bucket = bucket(type, sudoku.getDifficulty());
+        bucket.generated.increment();
+        sudoku.setPooled(true);
+        if (bucket.depth.get() < highWatermark) {
+            bucket.depth.incrementAndGet();
+            queued.add(sudoku);
+        } else if (bucket.stored.get() < storageCap) {
+            bucket.stored.incrementAndGet();
+            stored.add(sudoku);
+        }
+    }
+
+    private void publish(SudokuType type, List<Sudoku> queued, List<Sudoku> stored) {
+        if (!stored.isEmpty()) sudokuRepository.saveAll(stored);
+        for (Sudoku sudoku : sudokuRepository.saveAll(queued)) bucket(type, sudoku.getDifficulty()).queue.add(sudoku);
+    }
+}
@@ -8,19 +8,35 @@
 package goldenage.delfis.api.mongo.service;
 
 import goldenage.delfis.api.mongo.model.Sudoku;
+import goldenage.delfis.api.mongo.model.SudokuDifficulty;
 import goldenage.delfis.api.mongo.model.SudokuGenerator;
+import goldenage.delfis.api.mongo.model.SudokuMove;
+import goldenage.delfis.api.mongo.model.SudokuMoveResult;
+import goldenage.delfis.api.mongo.model.SudokuMoveValidator;
+import goldenage.delfis.api.mongo.model.SudokuRater;
+import goldenage.delfis.api.mongo.model.SudokuSeed;
+import goldenage.delfis.api.mongo.model.SudokuSolver;
 import goldenage.delfis.api.mongo.model.SudokuType;
 import goldenage.delfis.api.mongo.repository.SudokuRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class SudokuService {
+    private static final int MAX_MOVES_PER_REQUEST = 500;
+    private static final long UNIQUENESS_MAX_NODES = 1_000_000;
+
     private final SudokuRepository sudokuRepository;
+    private final SudokuPoolService sudokuPoolService;
 
-    public SudokuService(SudokuRepository sudokuRepository) {
+    public SudokuService(SudokuRepository sudokuRepository, SudokuPoolService sudokuPoolService) {
         this.sudokuRepository = sudokuRepository;
+        this.sudokuPoolService = sudokuPoolService;
     }
 
     /**
@@ -39,15 +55,118 @@ public class SudokuService {
     }
 
     /**
-     * @return sudoku inserido.
+     * @param difficulty dificuldade desejada; null aceita qualquer uma.
+     * @return sudoku do estoque pré-gerado do tipo.
+     */
+    public Sudoku generateSudoku(SudokuType type, SudokuDifficulty difficulty) {
+        return sudokuPoolService.take(type, difficulty);
+    }
+
+    /**
+     * Classifica em lote os sudokus salvos antes de existir a dificuldade.
+     * Reaproveita um SudokuRater por tipo.
+     *
+     * @return quantidade de sudokus classificados.
+     */
+    public int rateUnratedSudokus() {
+        Map<SudokuType, SudokuRater> raters = new EnumMap<>(SudokuType.class);
+        int rated = 0;
+        List<Sudoku> sudokus;
+        while (!(sudokus = sudokuRepository.findTop500ByDifficultyIsNull()).isEmpty()) {
+            for (Sudoku sudoku : sudokus) {
+                SudokuType type = sudoku.getType() != null ? sudoku.getType() : typeOf(sudoku);
+                sudoku.setType(type);
+                SudokuGenerator.rate(sudoku, SudokuGenerator.toGrid(sudoku), raters.computeIfAbsent(type, SudokuRater::new));
+            }
+            sudokuRepository.saveAll(sudokus);
+            rated += sudokus.size();
+        }
+        return rated;
+    }
+
+    /**
+     * @param code código da semente (ver SudokuSeed).
+     * @return sudoku gerado de novo a partir da semente (não é salvo).
+     */
+    public Sudoku getSudokuBySeed(String code) {
+        return SudokuGenerator.generateSeededSudoku(SudokuSeed.parse(code));
+    }
+
+    /**
+     * @return sudoku pelo id.
+     */
+    public Sudoku getSudokuById(String id) {
+        return sudokuRepository.findById(id).orElse(null);
+    }
+
+    /**
+     * Valida um lote de jogadas contra a solução guardada do sudoku. Sudokus antigos sem solução única
+     * são validados só pelos conflitos de linha, coluna e caixa.
+     *
+     * @return resultado de cada jogada, na mesma ordem.
      */
-    public Sudoku generateSudoku() {
-        Sudoku generatedSudoku = SudokuGenerator.generateRandomSudoku(SudokuType.SIXBYSIX);
-        return saveSudoku(generatedSudoku);
+    public List<SudokuMoveResult> validateMoves(String id, List<SudokuMove> moves) {
+        validateMoveBatch(moves);
+
+        Sudoku sudoku = getSudokuById(id);
+        if (sudoku == null) throw new EntityNotFoundException("Sudoku não encontrado.");
+        if (sudoku.getSolution() == null) storeSolution(sudoku);
+
+        return new SudokuMoveValidator(sudoku).validate(moves);
+    }
+
+    /**
+     * Valida um lote de jogadas contra um sudoku que já está em memória com a solução (o do dia, por exemplo).
+     *
+     * @return resultado de cada jogada, na mesma ordem.
+     */
+    public List<SudokuMoveResult> validateMoves(Sudoku sudoku, List<SudokuMove> moves) {
+        validateMoveBatch(moves);
+        return new SudokuMoveValidator(sudoku).validate(moves);
+    }
+
+    private void validateMoveBatch(List<SudokuMove> moves) {
+        if (moves == null || moves.isEmpty())
+            throw new IllegalArgumentException("Informe ao menos uma jogada.");
+        if (moves.size() > MAX_MOVES_PER_REQUEST)
+            throw new IllegalArgumentException("Máximo de " + MAX_MOVES_PER_REQUEST + " jogadas por requisição.");
     }
 
-    public List<Sudoku> findSudokusWithMostFilledCells() {
-        List<Sudoku> sudokus = sudokuRepository.findSudokusWithMostFilledCells();
+    /*
+     * Sudokus salvos antes de guardar a solução: se a solução for única, resolve uma vez e salva.
+     * Com mais de uma (ou sem prova dentro do limite de nós) não há gabarito: o sudoku segue sem solução
+     * e as jogadas são validadas só pelos conflitos.
+     * */
+    private void storeSolution(Sudoku sudoku) {
+        SudokuType type = sudoku.getType() != null ? sudoku.getType() : typeOf(sudoku);
+        sudoku.setType(type);
+
+        SudokuSolver solver = new SudokuSolver(type);
+        byte[] givens = SudokuGenerator.toGrid(sudoku);
+        for (int cell = 0; cell < givens.length; cell++) {
+            if (givens[cell] != 0) solver.place(cell, givens[cell]);
+        }
+        int solutions = solver.countSolutions(2, SudokuSolver.NO_DEADLINE, UNIQUENESS_MAX_NODES);
+        if (solutions == 0) throw new IllegalArgumentException("Sudoku sem solução.");
+        if (solutions != 1) return;
+        solver.solve(null);
+
+        sudoku.setSolution(solver.getGrid());
+        sudokuRepository.save(sudoku);
+    }
+
+    private SudokuType typeOf(Sudoku sudoku) {
+        for (SudokuType type : SudokuType.values()) {
+            if (type.getRows() == sudoku.getNumRows()) return type;
+        }
+        throw new IllegalArgumentException("Sudoku com tamanho desconhecido: " + sudoku.getNumRows());
+    }
+
+    /**
+     * @return página dos sudokus com mais células preenchidas.
+     */
+    public List<Sudoku> findSudokusWithMostFilledCells(int page, int size) {
+        List<Sudoku> sudokus = sudokuRepository.findSudokusWithMostFilledCells(PageRequest.of(page, size));
         return sudokus.isEmpty() ? null : sudokus;
     }
 }
@@ -0,0 +1,69 @@
+/*
+ * Classe SudokuStorageMigrationService
+ * Migração dos Sudokus salvos no formato antigo para o formato compacto
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.service;
+
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.WriteModel;
+import goldenage.delfis.api.mongo.converter.SudokuReadConverter;
+import goldenage.delfis.api.mongo.converter.SudokuWriteConverter;
+import goldenage.delfis.api.mongo.model.Sudoku;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class SudokuStorageMigrationService {
+    private static final Logger logger = LoggerFactory.getLogger(SudokuStorageMigrationService.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final SudokuReadConverter readConverter = new SudokuReadConverter();
+    private final SudokuWriteConverter writeConverter = new SudokuWriteConverter();
+
+    public SudokuStorageMigrationService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Reescreve em lotes os documentos que ainda têm board/mutable no formato compacto. O SudokuWriteConverter
+     * já grava filledCells, então os documentos migrados saem prontos para as consultas de ranking.
+     *
+     * @return quantidade de documentos migrados.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int migrateLegacySudokus() {
+        String collection = mongoTemplate.getCollectionName(Sudoku.class);
+        Query legacy = Query.query(Criteria.where("board").exists(true)).limit(BATCH_SIZE);
+
+        int migrated = 0;
+        List<Document> documents;
+        while (!(documents = mongoTemplate.find(legacy, Document.class, collection)).isEmpty()) {
+            List<WriteModel<Document>> writes = new ArrayList<>(documents.size());
+            for (Document document : documents) {
+                Document compact = writeConverter.convert(readConverter.convert(document));
+                writes.add(new ReplaceOneModel<>(Filters.eq("_id", document.get("_id")), compact));
+            }
+            mongoTemplate.getCollection(collection).bulkWrite(writes, new BulkWriteOptions().ordered(false));
+            migrated += documents.size();
+        }
+
+        if (migrated > 0) logger.info("Sudokus migrados para o formato compacto: {}", migrated);
+        return migrated;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Classe WordFrequencyService
+ * Service da entidade WordFrequency
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.service;
+
+import goldenage.delfis.api.mongo.model.WordFrequency;
+import goldenage.delfis.api.mongo.model.WordSearch;
+import goldenage.delfis.api.mongo.repository.WordFrequencyRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contagem de uso de cada palavra, mantida a cada caça-palavras inserido em vez de recalculada com
+ * $unwind em todos os documentos. As contagens de um lote são somadas na aplicação e vão ao Mongo num
+ * único bulk de upserts com $inc, um por palavra distinta.
+ */
+@Service
+public class WordFrequencyService {
+    private static final Logger logger = LoggerFactory.getLogger(WordFrequencyService.class);
+    public static final int MAX_TOP_WORDS = 100;
+
+    private final WordFrequencyRepository wordFrequencyRepository;
+    private final MongoTemplate mongoTemplate;
+
+    public WordFrequencyService(WordFrequencyRepository wordFrequencyRepository, MongoTemplate mongoTemplate) {
+        this.wordFrequencyRepository = wordFrequencyRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Soma as palavras dos caça-palavras recém-inseridos. Só deve ser chamado na inserção, nunca ao salvar de novo.
+     */
+    public void recordWords(List<WordSearch> insertedWordSearches) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (WordSearch wordSearch : insertedWordSearches) {
+            if (wordSearch.getWords() == null) continue;
+            for (String word : wordSearch.getWords()) counts.merge(word, 1, Integer::sum);
+        }
+        if (counts.isEmpty()) return;
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WordFrequency.class);
+        counts.forEach((word, count) -> bulk.upsert(Query.query(Criteria.where("_id").is(word)), new Update().inc("count", count)));
+        bulk.execute();
+    }
+
+    /**
+     * @return número de caça-palavras com a palavra.
+     */
+    public long getCount(String word) {
+        return wordFrequencyRepository.findById(word).map(WordFrequency::getCount).orElse(0L);
+    }
+
+    /**
+     * @return as limit palavras mais usadas.
+     */
+    public List<WordFrequency> getMostUsedWords(int limit) {
+        List<WordFrequency> words = wordFrequencyRepository.findAllByOrderByCountDescWordAsc(PageRequest.of(0, limit));
+        return words.isEmpty() ? null : words;
+    }
+
+    /**
+     * Na primeira subida com a coleção de frequências vazia, monta as contagens a partir dos caça-palavras
+     * já salvos, numa agregação que grava direto na coleção ($merge), sem trazer nada para a aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        String frequencies = mongoTemplate.getCollectionName(WordFrequency.class);
+        String wordSearches = mongoTemplate.getCollectionName(WordSearch.class);
+        if (mongoTemplate.getCollection(frequencies).estimatedDocumentCount() > 0) return;
+        if (mongoTemplate.getCollection(wordSearches).estimatedDocumentCount() == 0) return;
+
+        mongoTemplate.getCollection(wordSearches).aggregate(List.of(
+                new Document("$unwind", "$words"),
+                new Document("$group", new Document("_id", "$words").append("count", new Document("$sum", 1))),
+                new Document("$merge", new Document("into", frequencies).append("whenMatched", "replace"))
+        )).toCollection();
+        logger.info("Frequência das palavras montada a partir dos caça-palavras salvos.");
+    }
+}
@@ -7,18 +7,44 @@
 
 package goldenage.delfis.api.mongo.service;
 
+import goldenage.delfis.api.mongo.model.WordFrequency;
 import goldenage.delfis.api.mongo.model.WordSearch;
+import goldenage.delfis.api.mongo.model.WordSearchBatchResult;
+import goldenage.delfis.api.mongo.model.WordSearchPlacement;
+import goldenage.delfis.api.mongo.model.WordSearchSelection;
+import goldenage.delfis.api.mongo.model.WordSearchVerification;
 import goldenage.delfis.api.mongo.repository.WordSearchRepository;
+import goldenage.delfis.api.mongo.util.WordScanner;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class WordSearchService {
+    public static final int MAX_SELECTIONS_PER_REQUEST = 200;
+    private static final int POINTS_PER_LETTER = 10;
+    private static final int BONUS_POINTS_PER_LETTER = 5;
+
     private final WordSearchRepository wordSearchRepository;
+    private final WordThemeService wordThemeService;
+    private final WordFrequencyService wordFrequencyService;
+    private final long generationBudgetMillis;
 
-    public WordSearchService(WordSearchRepository wordSearchRepository) {
+    public WordSearchService(WordSearchRepository wordSearchRepository, WordThemeService wordThemeService,
+                             WordFrequencyService wordFrequencyService,
+                             @Value("${delfis.word-search.generation-budget-ms:200}") long generationBudgetMillis) {
         this.wordSearchRepository = wordSearchRepository;
+        this.wordThemeService = wordThemeService;
+        this.wordFrequencyService = wordFrequencyService;
+        this.generationBudgetMillis = generationBudgetMillis;
     }
 
     /**
@@ -29,6 +55,128 @@ public class WordSearchService {
         return wordSearchs.isEmpty() ? null : wordSearchs;
     }
 
+    /**
+     * @return caça-palavras pelo id.
+     */
+    public WordSearch getWordSearchById(String id) {
+        return wordSearchRepository.findById(id).orElse(null);
+    }
+
+    /**
+     * Verifica a seleção do jogador contra o gabarito salvo: pelas células de início e fim (se vier a palavra
+     * junto, ela tem que ser a que está nas células) ou só pela palavra, com a célula de início opcional.
+     * Uma seleção por células que não é do jogo mas forma uma palavra do dicionário conta como palavra bônus.
+     *
+     * @return se a seleção está correta, qual palavra ela marca e se é bônus.
+     */
+    public WordSearchVerification verify(String id, WordSearchSelection selection) {
+        validateSelection(selection);
+        return check(getWordSearchWithAnswerKey(id), selection, wordThemeService.getDictionary());
+    }
+
+    /**
+     * Igual a {@link #verify(String, WordSearchSelection)}, para um caça-palavras que já está em memória com
+     * as posições das palavras (o do dia, por exemplo).
+     */
+    public WordSearchVerification verify(WordSearch wordSearch, WordSearchSelection selection) {
+        validateSelection(selection);
+        return check(wordSearch, selection, wordThemeService.getDictionary());
+    }
+
+    /**
+     * Verifica várias seleções do mesmo caça-palavras numa requisição: o documento é lido uma vez e cada
+     * seleção é uma consulta no gabarito. Palavras repetidas no lote pontuam uma vez só; um lote com alguma
+     * seleção sem palavra e sem células é recusado inteiro.
+     *
+     * @return verificação de cada seleção, na ordem enviada, e a pontuação do lote.
+     */
+    public WordSearchBatchResult verifyBatch(String id, List<WordSearchSelection> selections) {
+        if (selections == null || selections.isEmpty())
+            throw new IllegalArgumentException("Informe ao menos uma seleção.");
+        if (selections.size() > MAX_SELECTIONS_PER_REQUEST)
+            throw new IllegalArgumentException("Máximo de " + MAX_SELECTIONS_PER_REQUEST + " seleções por requisição.");
+        for (int i = 0; i < selections.size(); i++) {
+            if (!isComplete(selections.get(i)))
+                throw new IllegalArgumentException("Seleção " + (i + 1) + ": informe a palavra ou as células de início e fim.");
+        }
+
+        WordSearch wordSearch = getWordSearchWithAnswerKey(id);
+        WordScanner dictionary = wordThemeService.getDictionary();
+        List<WordSearchVerification> results = new ArrayList<>(selections.size());
+        Set<String> found = new HashSet<>();
+        Set<String> bonus = new HashSet<>();
+        int score = 0;
+        for (WordSearchSelection selection : selections) {
+            WordSearchVerification result = check(wordSearch, selection, dictionary);
+            results.add(result);
+            if (!result.isCorrect()) continue;
+            if (result.isBonus() ? bonus.add(result.getWord()) : found.add(result.getWord())) {
+                score += result.getWord().length() * (result.isBonus() ? BONUS_POINTS_PER_LETTER : POINTS_PER_LETTER);
+            }
+        }
+        return new WordSearchBatchResult(results, found.size(), bonus.size(), wordSearch.getWords().size(), score);
+    }
+
+    private void validateSelection(WordSearchSelection selection) {
+        if (!isComplete(selection))
+            throw new IllegalArgumentException("Informe a palavra ou as células de início e fim da seleção.");
+    }
+
+    private boolean isComplete(WordSearchSelection selection) {
+        return selection != null && (hasWord(selection) || hasCells(selection));
+    }
+
+    private boolean hasWord(WordSearchSelection selection) {
+        return selection.getWord() != null && !selection.getWord().isBlank();
+    }
+
+    private boolean hasCells(WordSearchSelection selection) {
+        return selection.getStartRow() != null && selection.getStartCol() != null
+                && selection.getEndRow() != null && selection.getEndCol() != null;
+    }
+
+    private WordSearch getWordSearchWithAnswerKey(String id) {
+        WordSearch wordSearch = getWordSearchById(id);
+        if (wordSearch == null) throw new EntityNotFoundException("Caça-palavras não encontrado.");
+        // caça-palavras salvos antes do gabarito: monta uma vez e salva
+        if (wordSearch.locateWords()) saveWordSearch(wordSearch);
+        return wordSearch;
+    }
+
+    private WordSearchVerification check(WordSearch wordSearch, WordSearchSelection selection, WordScanner dictionary) {
+        if (!hasCells(selection)) return checkWord(wordSearch, selection);
+
+        WordSearchPlacement placement = wordSearch.findSelection(selection.getStartRow(), selection.getStartCol(), selection.getEndRow(), selection.getEndCol());
+        if (placement != null) return verification(selection, placement.getWord(), false);
+
+        // fora do jogo: a seleção ainda pode formar uma palavra do dicionário, em qualquer sentido
+        String letters = wordSearch.readSelection(selection.getStartRow(), selection.getStartCol(), selection.getEndRow(), selection.getEndCol());
+        if (letters == null || letters.length() < WordThemeService.MIN_BONUS_LENGTH) return new WordSearchVerification(false, null, false);
+        if (dictionary.contains(letters)) return verification(selection, letters, true);
+        String reversed = new StringBuilder(letters).reverse().toString();
+        if (dictionary.contains(reversed)) return verification(selection, reversed, true);
+        return new WordSearchVerification(false, null, false);
+    }
+
+    /*
+     * Só a palavra: consulta no gabarito por palavra; com a célula de início, a palavra tem que começar nela.
+     * */
+    private WordSearchVerification checkWord(WordSearch wordSearch, WordSearchSelection selection) {
+        String word = selection.getWord().trim().toUpperCase(Locale.ROOT);
+        WordSearchPlacement placement = selection.getStartRow() != null && selection.getStartCol() != null
+                ? wordSearch.findWord(word, selection.getStartRow(), selection.getStartCol())
+                : wordSearch.findWord(word);
+        return placement == null ? new WordSearchVerification(false, null, false) : new WordSearchVerification(true, placement.getWord(), false);
+    }
+
+    /*
+     * A palavra, se vier junto com as células, tem que ser a que está nelas.
+     * */
+    private WordSearchVerification verification(WordSearchSelection selection, String word, boolean bonus) {
+        if (hasWord(selection) && !selection.getWord().trim().equalsIgnoreCase(word)) return new WordSearchVerification(false, null, false);
+        return new WordSearchVerification(true, word, bonus);
+    }
+
     /**
      * @return caça-palavras inserido.
      */
@@ -37,18 +185,67 @@ public class WordSearchService {
     }
 
     /**
+     * Insere um caça-palavras novo e soma as palavras dele na frequência.
+     *
      * @return caça-palavras inserido.
      */
+    public WordSearch insertWordSearch(WordSearch wordSearch) {
+        WordSearch inserted = wordSearchRepository.insert(wordSearch);
+        wordFrequencyService.recordWords(List.of(inserted));
+        return inserted;
+    }
+
+    /**
+     * Gera com uma semente sorteada; no banco fica só a semente. A colocação das palavras tem no máximo
+     * generationBudgetMillis; se o prazo acabar, as que faltam entram onde couberem e o grid é salvo inteiro.
+     * O preenchimento não forma palavras bloqueadas: se precisar trocar letras, o grid também é salvo inteiro.
+     *
+     * @return caça-palavras inserido, com as palavras que não couberam em unplacedWords.
+     */
     public WordSearch generateWordSearch(int gridSize, List<String> wordList) {
-        WordSearch generatedWordSearch = new WordSearch(gridSize, wordList);
-        return saveWordSearch(generatedWordSearch);
+        long deadline = System.nanoTime() + generationBudgetMillis * 1_000_000L;
+        WordSearch generatedWordSearch = WordSearch.fromSeed(gridSize, wordList, ThreadLocalRandom.current().nextLong(), deadline);
+        generatedWordSearch.repairFill(wordThemeService.getBlockedWords(), new SplittableRandom());
+        return insertWordSearch(generatedWordSearch);
+    }
+
+    /**
+     * Sorteia as palavras do tema com a mesma semente do grid, então o caça-palavras continua
+     * reproduzível pela semente mesmo que o tema mude depois (as palavras ficam salvas nele).
+     *
+     * @return caça-palavras inserido, ou null se o tema não existe.
+     */
+    public WordSearch generateThemedWordSearch(String themeId, int gridSize, int wordCount, int minLength, int maxLength) {
+        long seed = ThreadLocalRandom.current().nextLong();
+        List<String> wordList = wordThemeService.sampleWords(themeId, wordCount, minLength, Math.min(maxLength, gridSize), new SplittableRandom(seed));
+        if (wordList == null) return null;
+        if (wordList.isEmpty()) throw new IllegalArgumentException("O tema não tem palavras nessa faixa de tamanho.");
+
+        long deadline = System.nanoTime() + generationBudgetMillis * 1_000_000L;
+        WordSearch generatedWordSearch = WordSearch.fromSeed(gridSize, wordList, seed, deadline);
+        generatedWordSearch.repairFill(wordThemeService.getBlockedWords(), new SplittableRandom());
+        generatedWordSearch.setThemeId(themeId);
+        return insertWordSearch(generatedWordSearch);
+    }
+
+    /**
+     * @return caça-palavras gerado de novo a partir da semente (não é salvo).
+     */
+    public WordSearch getWordSearchBySeed(int gridSize, List<String> wordList, long seed) {
+        return WordSearch.fromSeed(gridSize, wordList, seed);
+    }
+
+    /**
+     * @return número de ocorrências da palavra, lido da frequência materializada.
+     */
+    public long countOccurrencesOfWord(String word) {
+        return wordFrequencyService.getCount(word);
     }
 
     /**
-     * @return número de ocorrências da palavra.
+     * @return as palavras mais usadas, da mais para a menos usada.
      */
-    public int countOccurrencesOfWord(String word) {
-        Integer count = wordSearchRepository.countOccurrencesOfWord(word);
-        return count == null ? 0 : count;
+    public List<WordFrequency> getMostUsedWords(int limit) {
+        return wordFrequencyService.getMostUsedWords(limit);
     }
 }
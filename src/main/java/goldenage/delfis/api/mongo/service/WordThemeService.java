@@ -0,0 +1,165 @@
+/*
+ * Classe WordThemeService
+ * Service da entidade WordTheme
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.service;
+
+import goldenage.delfis.api.mongo.model.WordTheme;
+import goldenage.delfis.api.mongo.repository.WordThemeRepository;
+import goldenage.delfis.api.mongo.util.WordIndex;
+import goldenage.delfis.api.mongo.util.WordScanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dicionário de palavras por tema. Os temas ficam no Mongo e, na subida da aplicação, viram um
+ * WordIndex em memória por tema; gravar ou remover um tema atualiza o índice dele. A geração de
+ * caça-palavras sorteia do índice, sem ir ao banco. Temas gravados por outra instância são carregados
+ * no primeiro uso, e uma recarga periódica traz as alterações e remoções.
+ * <p>
+ * Também mantém dois WordScanner: o das palavras bloqueadas (que o preenchimento aleatório do grid não
+ * pode formar) e o do dicionário inteiro, para aceitar palavras bônus encontradas pelo jogador.
+ */
+@Service
+public class WordThemeService {
+    private static final Logger logger = LoggerFactory.getLogger(WordThemeService.class);
+
+    // palavras bônus curtas demais aparecem por acaso em quase todo grid
+    public static final int MIN_BONUS_LENGTH = 4;
+
+    private final WordThemeRepository wordThemeRepository;
+    private final Map<String, WordIndex> indexes = new ConcurrentHashMap<>();
+    private final WordScanner blockedWords;
+    private volatile WordScanner dictionary = new WordScanner(List.of());
+
+    public WordThemeService(WordThemeRepository wordThemeRepository,
+                            @Value("${delfis.word-search.blocked-words:}") List<String> blockedWords) {
+        this.wordThemeRepository = wordThemeRepository;
+        List<String> normalized = new ArrayList<>();
+        for (String word : blockedWords) {
+            String blocked = WordIndex.normalize(word);
+            if (blocked != null) normalized.add(blocked);
+        }
+        this.blockedWords = new WordScanner(normalized);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${delfis.word-theme.refresh-ms:600000}", fixedDelayString = "${delfis.word-theme.refresh-ms:600000}")
+    public void loadIndexes() {
+        try {
+            Set<String> loaded = new HashSet<>();
+            int words = 0;
+            for (WordTheme wordTheme : wordThemeRepository.findAll()) {
+                WordIndex index = new WordIndex(wordTheme.getWords());
+                indexes.put(wordTheme.getId(), index);
+                loaded.add(wordTheme.getId());
+                words += index.size();
+            }
+            indexes.keySet().retainAll(loaded);
+            rebuildDictionary();
+            logger.info("Dicionário carregado: {} temas, {} palavras.", loaded.size(), words);
+        } catch (DataAccessException e) {
+            logger.error("Erro ao carregar o dicionário: ", e);
+        }
+    }
+
+    /**
+     * @return todos os temas do banco.
+     */
+    public List<WordTheme> getWordThemes() {
+        List<WordTheme> wordThemes = wordThemeRepository.findAll();
+        return wordThemes.isEmpty() ? null : wordThemes;
+    }
+
+    /**
+     * @return tema pelo id.
+     */
+    public WordTheme getWordThemeById(String id) {
+        return wordThemeRepository.findById(id).orElse(null);
+    }
+
+    /**
+     * Normaliza as palavras (maiúsculas, sem acentos, sem repetidas), salva e atualiza o índice do tema.
+     *
+     * @return tema inserido.
+     */
+    public WordTheme saveWordTheme(WordTheme wordTheme) {
+        WordIndex index = new WordIndex(wordTheme.getWords());
+        if (index.size() == 0) throw new IllegalArgumentException("Nenhuma palavra válida: use só letras, sem espaços ou números.");
+
+        wordTheme.setWords(index.words());
+        WordTheme saved = wordThemeRepository.save(wordTheme);
+        indexes.put(saved.getId(), index);
+        rebuildDictionary();
+        return saved;
+    }
+
+    /**
+     * @return tema deletado.
+     */
+    public WordTheme deleteWordThemeById(String id) {
+        WordTheme wordTheme = getWordThemeById(id);
+        if (wordTheme != null) {
+            wordThemeRepository.deleteById(id);
+            indexes.remove(id);
+            rebuildDictionary();
+        }
+        return wordTheme;
+    }
+
+    /**
+     * Sorteia palavras distintas do tema com tamanho entre minLength e maxLength, em O(count).
+     *
+     * @return palavras sorteadas (menos que count se o tema não tiver tantas na faixa), ou null se o tema não existe.
+     */
+    public List<String> sampleWords(String themeId, int count, int minLength, int maxLength, SplittableRandom random) {
+        WordIndex index = indexes.get(themeId);
+        if (index == null) {
+            WordTheme wordTheme = getWordThemeById(themeId);
+            if (wordTheme == null) return null;
+            index = indexes.computeIfAbsent(themeId, id -> new WordIndex(wordTheme.getWords()));
+        }
+        return index.sample(count, minLength, maxLength, random);
+    }
+
+    /**
+     * @return palavras que o preenchimento do grid não pode formar (delfis.word-search.blocked-words).
+     */
+    public WordScanner getBlockedWords() {
+        return blockedWords;
+    }
+
+    /**
+     * @return todas as palavras de todos os temas com pelo menos MIN_BONUS_LENGTH letras.
+     */
+    public WordScanner getDictionary() {
+        return dictionary;
+    }
+
+    private synchronized void rebuildDictionary() {
+        List<String> words = new ArrayList<>();
+        for (WordIndex index : indexes.values()) {
+            for (String word : index.words()) {
+                if (word.length() >= MIN_BONUS_LENGTH) words.add(word);
+            }
+        }
+        dictionary = new WordScanner(words);
+    }
+}
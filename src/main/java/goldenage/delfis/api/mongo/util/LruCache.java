@@ -0,0 +1,50 @@
+/*
+ * Classe LruCache
+ * Cache limitado com descarte do menos usado recentemente
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * LinkedHashMap em ordem de acesso protegido por um lock. O valor é calculado fora do lock,
+ * então duas threads podem calcular a mesma chave ao mesmo tempo; fica o primeiro que entrar.
+ */
+public class LruCache<K, V> {
+    private final Map<K, V> entries;
+
+    public LruCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return valor em cache ou o calculado por loader (que passa a ficar em cache).
+     */
+    public V get(K key, Function<K, V> loader) {
+        synchronized (entries) {
+            V value = entries.get(key);
+            if (value != null) return value;
+        }
+        V loaded = loader.apply(key);
+        synchronized (entries) {
+            V value = entries.putIfAbsent(key, loaded);
+            return value != null ? value : loaded;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Classe WordIndex
+ * Índice em memória das palavras de um tema
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+/**
+ * Palavras agrupadas por tamanho, cada grupo num array ordenado. Com a contagem acumulada por tamanho,
+ * sortear N palavras distintas numa faixa de tamanhos custa O(N) (algoritmo de Floyd) e não depende
+ * do tamanho do tema. Imutável: pode ser lido por várias threads e trocado inteiro quando o tema muda.
+ */
+public class WordIndex {
+    private static final String[] EMPTY = new String[0];
+
+    // byLength[n] = palavras com n letras, em ordem alfabética
+    private final String[][] byLength;
+    // countUpTo[n] = quantidade de palavras com menos de n letras
+    private final int[] countUpTo;
+
+    public WordIndex(List<String> words) {
+        TreeSet<String> distinct = new TreeSet<>();
+        for (String word : words) {
+            String normalized = normalize(word);
+            if (normalized != null) distinct.add(normalized);
+        }
+
+        int maxLength = 0;
+        for (String word : distinct) maxLength = Math.max(maxLength, word.length());
+        List<List<String>> groups = new ArrayList<>(maxLength + 1);
+        for (int length = 0; length <= maxLength; length++) groups.add(new ArrayList<>());
+        for (String word : distinct) groups.get(word.length()).add(word);
+
+        this.byLength = new String[maxLength + 1][];
+        this.countUpTo = new int[maxLength + 2];
+        for (int length = 0; length <= maxLength; length++) {
+            byLength[length] = groups.get(length).toArray(EMPTY);
+            countUpTo[length + 1] = countUpTo[length] + byLength[length].length;
+        }
+    }
+
+    /**
+     * Maiúsculas, sem acentos e só com letras de A a Z, que é o que o grid aceita.
+     *
+     * @return palavra normalizada, ou null se sobrar algo fora de A-Z (espaço, hífen, número).
+     */
+    public static String normalize(String word) {
+        if (word == null) return null;
+        String normalized = Normalizer.normalize(word.strip(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toUpperCase();
+        if (normalized.isEmpty()) return null;
+        for (int i = 0; i < normalized.length(); i++) {
+            char letter = normalized.charAt(i);
+            if (letter < 'A' || letter > 'Z') return null;
+        }
+        return normalized;
+    }
+
+    /**
+     * @return todas as palavras, por tamanho e depois em ordem alfabética.
+     */
+    public List<String> words() {
+        List<String> words = new ArrayList<>(size());
+        for (String[] group : byLength) words.addAll(Arrays.asList(group));
+        return words;
+    }
+
+    public int size() {
+        return countUpTo[byLength.length];
+    }
+
+    /**
+     * @return quantidade de palavras com tamanho entre minLength e maxLength (inclusive).
+     */
+    public int count(int minLength, int maxLength) {
+        int from = Math.max(0, minLength);
+        int to = Math.min(byLength.length - 1, maxLength);
+        return from > to ? 0 : countUpTo[to + 1] - countUpTo[from];
+    }
+
+    public boolean contains(String word) {
+        return word.length() < byLength.length && Arrays.binarySearch(byLength[word.length()], word) >= 0;
+    }
+
+    /**
+     * Sorteia palavras distintas com tamanho entre minLength e maxLength; se a faixa tiver menos de
+     * count palavras, devolve todas elas.
+     */
+    public List<String> sample(int count, int minLength, int maxLength, SplittableRandom random) {
+        int available = count(minLength, maxLength);
+        int wanted = Math.min(count, available);
+        List<String> sample = new ArrayList<>(wanted);
+        if (wanted == 0) return sample;
+
+        // Floyd: wanted posições distintas em [0, available) com wanted sorteios
+        int offset = countUpTo[Math.max(0, minLength)];
+        Set<Integer> chosen = new HashSet<>(wanted * 2);
+        for (int j = available - wanted; j < available; j++) {
+            int position = random.nextInt(j + 1);
+            if (!chosen.add(position)) {
+                chosen.add(j);
+                position = j;
+            }
+            sample.add(wordAt(offset + position));
+        }
+        return sample;
+    }
+
+    /*
+     * Palavra na posição da ordem (tamanho, alfabética): busca binária no acumulado por tamanho.
+     * */
+    private String wordAt(int position) {
+        int length = Arrays.binarySearch(countUpTo, position);
+        // posições iguais no acumulado = tamanhos sem palavras; a palavra está no último tamanho com esse início
+        if (length >= 0) {
+            while (length + 1 < countUpTo.length && countUpTo[length + 1] == position) length++;
+        } else {
+            length = -length - 2;
+        }
+        return byLength[length][position - countUpTo[length]];
+    }
+}
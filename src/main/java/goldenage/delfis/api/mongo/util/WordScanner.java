@@ -0,0 +1,216 @@
+/*
+ * Classe WordScanner
+ * Busca de várias palavras ao mesmo tempo no grid do caça-palavras
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.mongo.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Autômato de Aho-Corasick sobre as letras A-Z: acha todas as palavras do dicionário num texto numa
+ * única passada, em tempo proporcional ao texto mais as ocorrências. No grid, cada linha, coluna e
+ * diagonal é lida uma vez em cada sentido, o que cobre as seis direções do caça-palavras.
+ * <p>
+ * Os estados são numerados em largura, então os filhos de cada um são estados contíguos, ordenados por letra;
+ * guardar só onde eles começam e a letra de cada estado, em vez de uma tabela de 26 posições por estado,
+ * deixa dicionários grandes caberem em memória. Imutável depois
+ * de montado: pode ser usado por várias threads.
+ */
+public class WordScanner {
+    private static final int ROOT = 0;
+
+    private final String[] words;
+    // estados numerados em largura: os filhos de s são os estados childStart[s] .. childStart[s + 1] - 1, por letra
+    private final int[] childStart;
+    private final byte[] letter;
+    private final int[] fail;
+    // palavra que termina no estado (-1 = nenhuma) e próximo estado na cadeia de falhas que termina uma palavra
+    private final int[] wordAt;
+    private final int[] outputLink;
+    private final int[] depth;
+
+    /**
+     * Ocorrência de uma palavra: índice em {@link #word(int)}, célula da primeira e da última letra.
+     */
+    @FunctionalInterface
+    public interface Match {
+        void found(int word, int startCell, int endCell);
+    }
+
+    public WordScanner(Collection<String> dictionary) {
+        TreeSet<String> distinct = new TreeSet<>();
+        for (String word : dictionary) {
+            if (word != null && !word.isEmpty() && onlyLetters(word)) distinct.add(word);
+        }
+        this.words = distinct.toArray(new String[0]);
+
+        // trie em ordem de largura: com as palavras ordenadas, os filhos de cada nó saem contíguos e por letra
+        List<int[]> level = new ArrayList<>();
+        level.add(new int[]{0, words.length, ROOT});
+        int states = 1;
+        int totalLetters = 0;
+        for (String word : words) totalLetters += word.length();
+        int[] parentOf = new int[totalLetters + 1];
+        byte[] letterOf = new byte[totalLetters + 1];
+        int[] starts = new int[totalLetters + 2];
+        int[] depths = new int[totalLetters + 1];
+        int[] terminal = new int[totalLetters + 1];
+        Arrays.fill(terminal, -1);
+
+        // cada entrada de level: [primeira palavra, fim (exclusivo), estado]; todas as palavras do intervalo compartilham o prefixo do estado
+        for (int d = 0; !level.isEmpty(); d++) {
+            List<int[]> nextLevel = new ArrayList<>();
+            for (int[] node : level) {
+                int state = node[2];
+                int from = node[0];
+                if (from < node[1] && words[from].length() == d) terminal[state] = from++;
+                starts[state] = states;
+                while (from < node[1]) {
+                    char letter = words[from].charAt(d);
+                    int to = from;
+                    while (to < node[1] && words[to].charAt(d) == letter) to++;
+                    int child = states++;
+                    parentOf[child] = state;
+                    letterOf[child] = (byte) (letter - 'A');
+                    depths[child] = d + 1;
+                    nextLevel.add(new int[]{from, to, child});
+                    from = to;
+                }
+            }
+            level = nextLevel;
+        }
+
+        // um nó é processado logo depois do anterior na numeração, então os filhos de s terminam onde começam os de s + 1
+        this.childStart = Arrays.copyOf(starts, states + 1);
+        this.childStart[states] = states;
+        this.letter = Arrays.copyOf(letterOf, states);
+        this.fail = new int[states];
+        this.wordAt = Arrays.copyOf(terminal, states);
+        this.outputLink = new int[states];
+        this.depth = Arrays.copyOf(depths, states);
+
+        // falhas em ordem de largura: o pai sempre já está resolvido
+        outputLink[ROOT] = -1;
+        for (int state = 1; state < states; state++) {
+            int parent = parentOf[state];
+            int target = ROOT;
+            if (parent != ROOT) {
+                int f = fail[parent];
+                while (true) {
+                    int next = child(f, letterOf[state]);
+                    if (next >= 0) {
+                        target = next;
+                        break;
+                    }
+                    if (f == ROOT) break;
+                    f = fail[f];
+                }
+            }
+            fail[state] = target;
+            outputLink[state] = wordAt[target] >= 0 ? target : outputLink[target];
+        }
+    }
+
+    private static boolean onlyLetters(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char letter = word.charAt(i);
+            if (letter < 'A' || letter > 'Z') return false;
+        }
+        return true;
+    }
+
+    /*
+     * Filho do estado pela letra (0..25), ou -1. Busca binária entre os filhos, ordenados por letra.
+     * */
+    private int child(int state, int letter) {
+        int low = childStart[state];
+        int high = childStart[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midLetter = this.letter[mid];
+            if (midLetter < letter) low = mid + 1;
+            else if (midLetter > letter) high = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    private int step(int state, int letter) {
+        while (true) {
+            int next = child(state, letter);
+            if (next >= 0) return next;
+            if (state == ROOT) return ROOT;
+            state = fail[state];
+        }
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    public String word(int index) {
+        return words[index];
+    }
+
+    /**
+     * @return true se o texto inteiro é uma palavra do dicionário.
+     */
+    public boolean contains(CharSequence text) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            int letter = text.charAt(i) - 'A';
+            if (letter < 0 || letter >= 26) return false;
+            state = child(state, letter);
+            if (state < 0) return false;
+        }
+        return wordAt[state] >= 0;
+    }
+
+    /**
+     * Acha todas as ocorrências das palavras no grid (célula = linha * gridSize + coluna) nas seis direções:
+     * linhas, colunas e diagonais, cada uma lida nos dois sentidos.
+     */
+    public void scan(char[] cells, int gridSize, Match match) {
+        for (int row = 0; row < gridSize; row++) {
+            scanLine(cells, row * gridSize, 1, gridSize, match);
+        }
+        for (int col = 0; col < gridSize; col++) {
+            scanLine(cells, col, gridSize, gridSize, match);
+        }
+        int diagonalStep = gridSize + 1;
+        for (int col = 0; col < gridSize; col++) {
+            scanLine(cells, col, diagonalStep, gridSize - col, match);
+        }
+        for (int row = 1; row < gridSize; row++) {
+            scanLine(cells, row * gridSize, diagonalStep, gridSize - row, match);
+        }
+    }
+
+    private void scanLine(char[] cells, int first, int step, int length, Match match) {
+        scanDirection(cells, first, step, length, match);
+        scanDirection(cells, first + step * (length - 1), -step, length, match);
+    }
+
+    private void scanDirection(char[] cells, int first, int step, int length, Match match) {
+        int state = ROOT;
+        int cell = first;
+        for (int i = 0; i < length; i++, cell += step) {
+            int letter = cells[cell] - 'A';
+            if (letter < 0 || letter >= 26) {
+                state = ROOT;
+                continue;
+            }
+            state = step(state, letter);
+            for (int out = wordAt[state] >= 0 ? state : outputLink[state]; out > ROOT; out = outputLink[out]) {
+                match.found(wordAt[out], cell - step * (depth[out] - 1), cell);
+            }
+        }
+    }
+}
@@ -7,13 +7,23 @@
 
 package goldenage.delfis.api.postgresql.controller;
 
+import goldenage.delfis.api.common.model.CursorPage;
+import goldenage.delfis.api.common.util.CursorUtils;
+import goldenage.delfis.api.common.util.ExportUtils;
+import goldenage.delfis.api.postgresql.model.AppUserRanking;
+import goldenage.delfis.api.postgresql.model.AppUserSummary;
+import goldenage.delfis.api.postgresql.model.LeaderboardPeriod;
+import goldenage.delfis.api.postgresql.model.LeaderboardSnapshot;
 import goldenage.delfis.api.postgresql.model.Plan;
 import goldenage.delfis.api.postgresql.model.UserRole;
 import goldenage.delfis.api.postgresql.util.ControllerUtils;
 import goldenage.delfis.api.postgresql.model.AppUser;
 import goldenage.delfis.api.postgresql.service.AppUserService;
+import goldenage.delfis.api.postgresql.service.LeaderboardSnapshotService;
 import goldenage.delfis.api.postgresql.service.PlanService;
 import goldenage.delfis.api.postgresql.service.UserRoleService;
+import goldenage.delfis.api.redis.model.LeaderboardEntry;
+import goldenage.delfis.api.redis.model.LeaderboardPosition;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -22,17 +32,21 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
@@ -44,31 +58,49 @@ public class AppUserController {
     private static final int DEFAULT_POINTS = 0;
     private static final int DEFAULT_ROLE = 1;
     private static final int DEFAULT_COINS = 0;
+    private static final int MAX_LEADERBOARD_WINDOW = 25;
 
 
     private final AppUserService appUserService;
     private final PlanService planService;
     private final UserRoleService userRoleService;
+    private final LeaderboardSnapshotService leaderboardSnapshotService;
 
-    public AppUserController(AppUserService appUserService, PlanService planService, UserRoleService userRoleService) {
+    public AppUserController(AppUserService appUserService, PlanService planService, UserRoleService userRoleService,
+                             LeaderboardSnapshotService leaderboardSnapshotService) {
         this.appUserService = appUserService;
         this.planService = planService;
         this.userRoleService = userRoleService;
+        this.leaderboardSnapshotService = leaderboardSnapshotService;
     }
 
     @GetMapping("/get-all")
     @Operation(summary = "Obter todos os usuários", description = "Retorna uma lista de todos os usuários registrados.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de usuários encontrada", content = @Content(array = @ArraySchema(schema = @Schema(implementation = AppUser.class)))),
+            @ApiResponse(responseCode = "200", description = "Lista de usuários encontrada", content = @Content(schema = @Schema(implementation = CursorPage.class))),
             @ApiResponse(responseCode = "404", description = "Nenhum usuário encontrado", content = @Content)
     })
-    public ResponseEntity<?> getAppUsers() {
-        List<AppUser> appUsers = appUserService.getAppUsers();
+    public ResponseEntity<?> getAppUsers(
+            @Parameter(description = "Cursor da página, vindo de nextCursor; vazio para a primeira")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo " + CursorUtils.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = CursorUtils.DEFAULT_PAGE_SIZE) int size) {
+        CursorUtils.verifyPageSize(size);
+        CursorPage<AppUserSummary> appUsers = appUserService.getAppUsers(cursor, size);
         if (appUsers != null) return ResponseEntity.status(HttpStatus.OK).body(appUsers);
 
         throw new EntityNotFoundException("Nenhum usuário encontrado.");
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Exportar usuários", description = "Retorna todos os usuários, com os campos da listagem, em NDJSON (um JSON por linha), em ordem de ID, escritos conforme são lidos do banco.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação em andamento", content = @Content(mediaType = "application/x-ndjson"))
+    })
+    public WebAsyncTask<Void> exportAppUsers(HttpServletResponse response) {
+        return ExportUtils.ndjson(response, "appUsers.ndjson", appUserService::exportAppUsers);
+    }
+
     @GetMapping("/get-by-username/{username}")
     @Operation(summary = "Obter usuário por nome de usuário", description = "Retorna um usuário baseado no seu nome de usuário.")
     @ApiResponses(value = {
@@ -104,14 +136,14 @@ public class AppUserController {
     @GetMapping("/get-by-plan/{id}")
     @Operation(summary = "Obter usuários por plano", description = "Retorna uma lista de usuários associados a um plano específico.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de usuários encontrada", content = @Content(array = @ArraySchema(schema = @Schema(implementation = AppUser.class)))),
+            @ApiResponse(responseCode = "200", description = "Lista de usuários encontrada", content = @Content(array = @ArraySchema(schema = @Schema(implementation = AppUserSummary.class)))),
             @ApiResponse(responseCode = "404", description = "Nenhum usuário encontrado", content = @Content),
             @ApiResponse(responseCode = "400", description = "ID do plano inválido", content = @Content)
     })
     public ResponseEntity<?> getAppUsersByPlanId(
             @Parameter(description = "ID do plano", required = true)
             @PathVariable Long id) {
-        List<AppUser> appUsers = appUserService.getAppUsersByPlanId(id);
+        List<AppUserSummary> appUsers = appUserService.getAppUsersByPlanId(id);
         if (appUsers != null) return ResponseEntity.status(HttpStatus.OK).body(appUsers);
 
         throw new EntityNotFoundException("Nenhum usuário encontrado.");
@@ -120,14 +152,14 @@ public class AppUserController {
     @GetMapping("/get-by-user-role/{id}")
     @Operation(summary = "Obter usuários por função", description = "Retorna uma lista de usuários associados a uma função específica.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de usuários encontrada", content = @Content(array = @ArraySchema(schema = @Schema(implementation = AppUser.class)))),
+            @ApiResponse(responseCode = "200", description = "Lista de usuários encontrada", content = @Content(array = @ArraySchema(schema = @Schema(implementation = AppUserSummary.class)))),
             @ApiResponse(responseCode = "404", description = "Nenhum usuário encontrado", content = @Content),
             @ApiResponse(responseCode = "400", description = "ID da função inválido", content = @Content)
     })
     public ResponseEntity<?> getAppUsersByUserRoleId(
             @Parameter(description = "ID da função do usuário", required = true)
             @PathVariable Long id) {
-        List<AppUser> appUsers = appUserService.getAppUsersByUserRoleId(id);
+        List<AppUserSummary> appUsers = appUserService.getAppUsersByUserRoleId(id);
         if (appUsers != null) return ResponseEntity.status(HttpStatus.OK).body(appUsers);
 
         throw new EntityNotFoundException("Nenhum usuário encontrado.");
@@ -136,17 +168,80 @@ public class AppUserController {
     @GetMapping("/leaderboard")
     @Operation(summary = "Obter leaderboard", description = "Retorna uma lista de usuários ordenados por pontuação.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de usuários encontrada", content = @Content(array = @ArraySchema(schema = @Schema(implementation = AppUser.class)))),
+            @ApiResponse(responseCode = "200", description = "Lista de usuários encontrada", content = @Content(array = @ArraySchema(schema = @Schema(implementation = AppUserRanking.class)))),
             @ApiResponse(responseCode = "404", description = "Nenhum usuário encontrado", content = @Content),
             @ApiResponse(responseCode = "400", description = "Erro na requisição", content = @Content)
     })
     public ResponseEntity<?> getLeaderboard() {
-        List<AppUser> appUsers = appUserService.getLeaderboard();
+        List<AppUserRanking> appUsers = appUserService.getLeaderboard();
         if (appUsers != null) return ResponseEntity.status(HttpStatus.OK).body(appUsers);
 
         throw new EntityNotFoundException("Nenhum usuário encontrado.");
     }
 
+    @GetMapping("/leaderboard/position/{id}")
+    @Operation(summary = "Obter posição no leaderboard", description = "Retorna a posição do usuário no leaderboard e os usuários logo acima e logo abaixo dele.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posição encontrada", content = @Content(schema = @Schema(implementation = LeaderboardPosition.class))),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado no leaderboard", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Erro na requisição", content = @Content)
+    })
+    public ResponseEntity<?> getLeaderboardPosition(
+            @Parameter(description = "ID do usuário", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Quantidade de usuários acima e abaixo (máximo " + MAX_LEADERBOARD_WINDOW + ")")
+            @RequestParam(defaultValue = "5") int window,
+            @Parameter(description = "Janela do leaderboard (daily ou weekly); sem ela, usa os pontos totais")
+            @RequestParam(required = false) String period) {
+        if (window < 0 || window > MAX_LEADERBOARD_WINDOW) throw new IllegalArgumentException("A janela deve estar entre 0 e " + MAX_LEADERBOARD_WINDOW + ".");
+
+        LeaderboardPosition position = appUserService.getLeaderboardPosition(id, window, period == null ? null : parsePeriod(period));
+        if (position != null) return ResponseEntity.status(HttpStatus.OK).body(position);
+
+        throw new EntityNotFoundException("Usuário não encontrado no leaderboard.");
+    }
+
+    @GetMapping("/leaderboard/{period}")
+    @Operation(summary = "Obter leaderboard do período", description = "Retorna os usuários que mais ganharam pontos hoje (daily) ou nesta semana (weekly).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Leaderboard encontrado", content = @Content(array = @ArraySchema(schema = @Schema(implementation = LeaderboardEntry.class)))),
+            @ApiResponse(responseCode = "404", description = "Ninguém pontuou no período", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Período inválido", content = @Content)
+    })
+    public ResponseEntity<?> getPeriodLeaderboard(
+            @Parameter(description = "Janela do leaderboard (daily ou weekly)", required = true)
+            @PathVariable String period) {
+        List<LeaderboardEntry> entries = appUserService.getLeaderboard(parsePeriod(period));
+        if (entries != null) return ResponseEntity.status(HttpStatus.OK).body(entries);
+
+        throw new EntityNotFoundException("Ninguém pontuou no período.");
+    }
+
+    @GetMapping("/leaderboard/snapshot/{period}/{periodStart}")
+    @Operation(summary = "Obter classificação final", description = "Retorna a classificação final gravada de um dia ou semana já encerrado.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Classificação encontrada", content = @Content(array = @ArraySchema(schema = @Schema(implementation = LeaderboardSnapshot.class)))),
+            @ApiResponse(responseCode = "404", description = "Classificação não encontrada", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Período ou data inválidos", content = @Content)
+    })
+    public ResponseEntity<?> getLeaderboardSnapshot(
+            @Parameter(description = "Janela do leaderboard (daily ou weekly)", required = true)
+            @PathVariable String period,
+            @Parameter(description = "Primeiro dia da janela (a semana começa na segunda)", required = true, example = "2026-10-12")
+            @PathVariable String periodStart) {
+        LocalDate start;
+        try {
+            start = LocalDate.parse(periodStart);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida: " + periodStart + ".");
+        }
+
+        List<LeaderboardSnapshot> snapshots = leaderboardSnapshotService.getSnapshot(parsePeriod(period), start);
+        if (snapshots != null) return ResponseEntity.status(HttpStatus.OK).body(snapshots);
+
+        throw new EntityNotFoundException("Classificação não encontrada.");
+    }
+
     @PostMapping("/insert")
     @Operation(summary = "Inserir um novo usuário", description = "Cria um novo usuário no sistema.")
     @ApiResponses(value = {
@@ -276,6 +371,14 @@ public class AppUserController {
         return ResponseEntity.status(HttpStatus.OK).body(appUserInserted);
     }
 
+    private static LeaderboardPeriod parsePeriod(String period) {
+        try {
+            return LeaderboardPeriod.valueOf(period.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Período inválido: " + period + ". Use daily ou weekly.");
+        }
+    }
+
     private void verifyFks(AppUser appUser) {
         Plan plan = planService.getPlanById((appUser.getFkPlanId()));
         if (plan == null) throw new EntityNotFoundException("Plano não encontrado.");
@@ -7,6 +7,9 @@
 
 package goldenage.delfis.api.postgresql.controller;
 
+import goldenage.delfis.api.common.model.CursorPage;
+import goldenage.delfis.api.common.util.CursorUtils;
+import goldenage.delfis.api.common.util.ExportUtils;
 import goldenage.delfis.api.postgresql.model.AppUser;
 import goldenage.delfis.api.postgresql.model.AppUserPowerup;
 import goldenage.delfis.api.postgresql.model.Powerup;
@@ -21,11 +24,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.util.List;
 
@@ -45,17 +50,31 @@ public class AppUserPowerupController {
     @GetMapping("/get-all")
     @Operation(summary = "Obter todos os powerups de usuários", description = "Retorna uma lista de todos os powerups de usuários registrados.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de powerups encontrada", content = @Content(array = @ArraySchema(schema = @Schema(implementation = AppUserPowerup.class)))),
+            @ApiResponse(responseCode = "200", description = "Lista de powerups encontrada", content = @Content(schema = @Schema(implementation = CursorPage.class))),
             @ApiResponse(responseCode = "404", description = "Nenhum powerup encontrado", content = @Content)
     })
-    public ResponseEntity<?> getAppUserPowerups() {
-        List<AppUserPowerup> appUserPowerups = appUserPowerupService.getAppUserPowerups();
+    public ResponseEntity<?> getAppUserPowerups(
+            @Parameter(description = "Cursor da página, vindo de nextCursor; vazio para a primeira")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo " + CursorUtils.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = CursorUtils.DEFAULT_PAGE_SIZE) int size) {
+        CursorUtils.verifyPageSize(size);
+        CursorPage<AppUserPowerup> appUserPowerups = appUserPowerupService.getAppUserPowerups(cursor, size);
         if (appUserPowerups != null) {
             return ResponseEntity.status(HttpStatus.OK).body(appUserPowerups);
         }
         throw new EntityNotFoundException("Nenhum powerup encontrado.");
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Exportar powerups de usuários", description = "Retorna todas as compras de powerups em NDJSON (um JSON por linha), em ordem de ID, escritos conforme são lidos do banco.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação em andamento", content = @Content(mediaType = "application/x-ndjson"))
+    })
+    public WebAsyncTask<Void> exportAppUserPowerups(HttpServletResponse response) {
+        return ExportUtils.ndjson(response, "appUserPowerups.ndjson", appUserPowerupService::exportAppUserPowerups);
+    }
+
     @GetMapping("/get-by-app-user/{id}")
     @Operation(summary = "Obter powerups por usuário", description = "Retorna uma lista de powerups baseados no usuário.")
     @ApiResponses(value = {
@@ -7,6 +7,9 @@
 
 package goldenage.delfis.api.postgresql.controller;
 
+import goldenage.delfis.api.common.model.CursorPage;
+import goldenage.delfis.api.common.util.CursorUtils;
+import goldenage.delfis.api.common.util.ExportUtils;
 import goldenage.delfis.api.postgresql.model.AppUser;
 import goldenage.delfis.api.postgresql.model.AppUserTheme;
 import goldenage.delfis.api.postgresql.model.Theme;
@@ -22,11 +25,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -48,17 +53,31 @@ public class AppUserThemeController {
     @GetMapping("/get-all")
     @Operation(summary = "Obter todos os temas de usuários", description = "Retorna uma lista de todos os temas de usuários registrados.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de temas encontrada", content = @Content(array = @ArraySchema(schema = @Schema(implementation = AppUserTheme.class)))),
+            @ApiResponse(responseCode = "200", description = "Lista de temas encontrada", content = @Content(schema = @Schema(implementation = CursorPage.class))),
             @ApiResponse(responseCode = "404", description = "Nenhum tema encontrado", content = @Content)
     })
-    public ResponseEntity<List<AppUserTheme>> getAppUserThemes() {
-        List<AppUserTheme> appUserThemes = appUserThemeService.getAppUserThemes();
+    public ResponseEntity<CursorPage<AppUserTheme>> getAppUserThemes(
+            @Parameter(description = "Cursor da página, vindo de nextCursor; vazio para a primeira")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo " + CursorUtils.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = CursorUtils.DEFAULT_PAGE_SIZE) int size) {
+        CursorUtils.verifyPageSize(size);
+        CursorPage<AppUserTheme> appUserThemes = appUserThemeService.getAppUserThemes(cursor, size);
         if (appUserThemes == null) {
             throw new EntityNotFoundException("Nenhum tema encontrado.");
         }
         return ResponseEntity.status(HttpStatus.OK).body(appUserThemes);
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Exportar temas de usuários", description = "Retorna todas as compras de temas em NDJSON (um JSON por linha), em ordem de ID, escritos conforme são lidos do banco.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação em andamento", content = @Content(mediaType = "application/x-ndjson"))
+    })
+    public WebAsyncTask<Void> exportAppUserThemes(HttpServletResponse response) {
+        return ExportUtils.ndjson(response, "appUserThemes.ndjson", appUserThemeService::exportAppUserThemes);
+    }
+
     @GetMapping("/get-by-app-user/{id}")
     @Operation(summary = "Obter temas por usuário", description = "Retorna uma lista de temas baseados no usuário.")
     @ApiResponses(value = {
@@ -7,6 +7,9 @@
 
 package goldenage.delfis.api.postgresql.controller;
 
+import goldenage.delfis.api.common.model.CursorPage;
+import goldenage.delfis.api.common.util.CursorUtils;
+import goldenage.delfis.api.common.util.ExportUtils;
 import goldenage.delfis.api.postgresql.model.AppUser;
 import goldenage.delfis.api.postgresql.model.Plan;
 import goldenage.delfis.api.postgresql.model.PlanPayment;
@@ -24,8 +27,10 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.util.List;
 
@@ -45,16 +50,30 @@ public class PlanPaymentController {
     @GetMapping("/get-all")
     @Operation(summary = "Obter todos os pagamentos de planos", description = "Retorna uma lista de todos os pagamentos de planos registrados.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de pagamentos de planos encontrada", content = @Content(array = @ArraySchema(schema = @Schema(implementation = PlanPayment.class)))),
+            @ApiResponse(responseCode = "200", description = "Lista de pagamentos de planos encontrada", content = @Content(schema = @Schema(implementation = CursorPage.class))),
             @ApiResponse(responseCode = "404", description = "Nenhum pagamento encontrado", content = @Content)
     })
-    public ResponseEntity<List<PlanPayment>> getPlanPayments() {
-        List<PlanPayment> planPayments = planPaymentService.getPlanPayments();
+    public ResponseEntity<CursorPage<PlanPayment>> getPlanPayments(
+            @Parameter(description = "Cursor da página, vindo de nextCursor; vazio para a primeira")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo " + CursorUtils.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = CursorUtils.DEFAULT_PAGE_SIZE) int size) {
+        CursorUtils.verifyPageSize(size);
+        CursorPage<PlanPayment> planPayments = planPaymentService.getPlanPayments(cursor, size);
         if (planPayments != null) return ResponseEntity.status(HttpStatus.OK).body(planPayments);
 
         throw new EntityNotFoundException("Nenhum pagamento encontrado.");
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Exportar pagamentos de planos", description = "Retorna todos os pagamentos de planos em NDJSON (um JSON por linha), em ordem de ID, escritos conforme são lidos do banco.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação em andamento", content = @Content(mediaType = "application/x-ndjson"))
+    })
+    public WebAsyncTask<Void> exportPlanPayments(HttpServletResponse response) {
+        return ExportUtils.ndjson(response, "planPayments.ndjson", planPaymentService::exportPlanPayments);
+    }
+
     @GetMapping("/get-by-app-user/{id}")
     @Operation(summary = "Obter pagamentos por usuário", description = "Retorna uma lista de pagamentos de planos associados ao usuário fornecido.")
     @ApiResponses(value = {
@@ -7,6 +7,9 @@
 
 package goldenage.delfis.api.postgresql.controller;
 
+import goldenage.delfis.api.common.model.CursorPage;
+import goldenage.delfis.api.common.util.CursorUtils;
+import goldenage.delfis.api.common.util.ExportUtils;
 import goldenage.delfis.api.postgresql.model.Streak;
 import goldenage.delfis.api.postgresql.util.ControllerUtils;
 import goldenage.delfis.api.postgresql.model.AppUser;
@@ -23,8 +26,10 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -46,16 +51,30 @@ public class StreakController {
     @GetMapping("/get-all")
     @Operation(summary = "Obter todos os streaks", description = "Retorna uma lista de todos os streaks registrados.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de streaks encontrada", content = @Content(array = @ArraySchema(schema = @Schema(implementation = Streak.class)))),
+            @ApiResponse(responseCode = "200", description = "Lista de streaks encontrada", content = @Content(schema = @Schema(implementation = CursorPage.class))),
             @ApiResponse(responseCode = "404", description = "Nenhum streak encontrado", content = @Content)
     })
-    public ResponseEntity<List<Streak>> getStreaks() {
-        List<Streak> streaks = streakService.getStreaks();
+    public ResponseEntity<CursorPage<Streak>> getStreaks(
+            @Parameter(description = "Cursor da página, vindo de nextCursor; vazio para a primeira")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo " + CursorUtils.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = CursorUtils.DEFAULT_PAGE_SIZE) int size) {
+        CursorUtils.verifyPageSize(size);
+        CursorPage<Streak> streaks = streakService.getStreaks(cursor, size);
         if (streaks != null) return ResponseEntity.status(HttpStatus.OK).body(streaks);
 
         throw new EntityNotFoundException("Nenhum streak encontrado.");
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Exportar streaks", description = "Retorna todos os streaks em NDJSON (um JSON por linha), em ordem de ID, escritos conforme são lidos do banco.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação em andamento", content = @Content(mediaType = "application/x-ndjson"))
+    })
+    public WebAsyncTask<Void> exportStreaks(HttpServletResponse response) {
+        return ExportUtils.ndjson(response, "streaks.ndjson", streakService::exportStreaks);
+    }
+
     @GetMapping("/get-by-initial-date-before/{initialDate}")
     @Operation(summary = "Obter streaks com data inicial anterior", description = "Retorna uma lista de streaks cuja data inicial é anterior à fornecida.")
     @ApiResponses(value = {
@@ -0,0 +1,31 @@
+/*
+ * Interface AppUserRanking
+ * Projeção da entidade AppUser usada nos leaderboards
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.postgresql.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Só o que aparece de um usuário no leaderboard.
+ */
+@Schema(description = "Usuário no leaderboard.")
+public interface AppUserRanking {
+    @Schema(description = "ID único do usuário", example = "1234")
+    long getId();
+
+    @Schema(description = "Apelido único do usuário", example = "jvdinizaraujo")
+    String getUsername();
+
+    @Schema(description = "Level do usuário", example = "3")
+    int getLevel();
+
+    @Schema(description = "Pontos do usuário", example = "40")
+    int getPoints();
+
+    @Schema(description = "Url da foto de perfil do usuário")
+    String getPictureUrl();
+}
@@ -0,0 +1,17 @@
+/*
+ * Interface AppUserScore
+ * Projeção da entidade AppUser com só o id e os pontos
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.postgresql.model;
+
+/**
+ * Só as colunas que o leaderboard precisa, para ler todos os usuários sem carregar as entidades inteiras.
+ */
+public interface AppUserScore {
+    long getId();
+
+    int getPoints();
+}
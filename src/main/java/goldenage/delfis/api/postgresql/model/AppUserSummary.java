@@ -0,0 +1,44 @@
+/*
+ * Interface AppUserSummary
+ * Projeção da entidade AppUser usada nas listagens
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.postgresql.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Campos de um usuário nas listagens (get-all, por plano, por papel). Sem senha, email, data de nascimento
+ * e datas de criação e atualização, que só saem na busca de um usuário.
+ */
+@Schema(description = "Resumo de um usuário nas listagens.")
+public interface AppUserSummary {
+    @Schema(description = "ID único do usuário", example = "1234")
+    long getId();
+
+    @Schema(description = "Nome real do usuário", example = "JOÃO VICTOR DINIZ ARAUJO")
+    String getName();
+
+    @Schema(description = "Apelido único do usuário", example = "jvdinizaraujo")
+    String getUsername();
+
+    @Schema(description = "Level do usuário", example = "3")
+    int getLevel();
+
+    @Schema(description = "Pontos do usuário", example = "40")
+    int getPoints();
+
+    @Schema(description = "Delfiscoins do usuário", example = "100")
+    int getCoins();
+
+    @Schema(description = "Url da foto de perfil do usuário")
+    String getPictureUrl();
+
+    @Schema(description = "Fk do plano do usuário", example = "1")
+    long getFkPlanId();
+
+    @Schema(description = "Fk do papel do usuário", example = "1")
+    long getFkUserRoleId();
+}
@@ -0,0 +1,31 @@
+/*
+ * Enum LeaderboardPeriod
+ * Janelas de tempo dos leaderboards
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.postgresql.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+public enum LeaderboardPeriod {
+    DAILY,
+    WEEKLY;
+
+    /**
+     * @return primeiro dia da janela que contém a data (a semana começa na segunda).
+     */
+    public LocalDate startOf(LocalDate date) {
+        return this == DAILY ? date : date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * @return último dia da janela que começa em start.
+     */
+    public LocalDate endOf(LocalDate start) {
+        return this == DAILY ? start : start.plusDays(6);
+    }
+}
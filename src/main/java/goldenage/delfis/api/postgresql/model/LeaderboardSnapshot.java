@@ -0,0 +1,58 @@
+/*
+ * Classe LeaderboardSnapshot
+ * Model da entidade LeaderboardSnapshot
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.postgresql.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Entity(name = "leaderboard_snapshot")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_leaderboard_snapshot_rank", columnNames = {"period", "period_start", "final_rank"}))
+@Schema(description = "Classificação final de um usuário num leaderboard diário ou semanal já encerrado.")
+public class LeaderboardSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "ID único da classificação", example = "1234")
+    private long id;
+
+    @NotNull(message = "O período não pode ser nulo")
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    @Schema(description = "Janela do leaderboard", example = "WEEKLY")
+    private LeaderboardPeriod period;
+
+    @NotNull(message = "O início do período não pode ser nulo")
+    @Column(name = "period_start")
+    @Schema(description = "Primeiro dia da janela", example = "2026-10-12")
+    private LocalDate periodStart;
+
+    @Column(name = "final_rank")
+    @Schema(description = "Posição final, começando em 1", example = "3")
+    private long rank;
+
+    @Column(name = "fk_app_user_id")
+    @Schema(description = "Usuário classificado", example = "1234")
+    private long fkAppUserId;
+
+    @Schema(description = "Pontos ganhos na janela", example = "120")
+    private long points;
+
+    @Column(name = "created_at")
+    @Schema(description = "Data e hora em que a classificação foi gravada", example = "2026-10-19T00:10:00")
+    private LocalDateTime createdAt;
+}
@@ -8,10 +8,22 @@
 package goldenage.delfis.api.postgresql.repository;
 
 import goldenage.delfis.api.postgresql.model.AppUserPowerup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface AppUserPowerupRepository extends JpaRepository<AppUserPowerup, Long> {
+    List<AppUserPowerup> findAppUserPowerupsByIdGreaterThanOrderByIdAsc(long id, Limit limit);
     List<AppUserPowerup> findAppUserPowerupsByFkAppUserId(Long id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = RepositoryHints.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<AppUserPowerup> streamAppUserPowerupsByOrderByIdAsc();
 }
@@ -8,15 +8,35 @@
 package goldenage.delfis.api.postgresql.repository;
 
 import goldenage.delfis.api.postgresql.model.AppUser;
+import goldenage.delfis.api.postgresql.model.AppUserRanking;
+import goldenage.delfis.api.postgresql.model.AppUserScore;
+import goldenage.delfis.api.postgresql.model.AppUserSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AppUserRepository extends JpaRepository<AppUser, Long> {
     Optional<AppUser> findAppUserByEmailEqualsIgnoreCase(String email);
     Optional<AppUser> findAppUserByUsernameEqualsIgnoreCase(String username);
-    List<AppUser> findAppUsersByFkPlanIdEquals(Long id);
-    List<AppUser> findAppUsersByFkUserRoleIdEquals(Long id);
-    List<AppUser> findTop50ByIdIsNotInOrderByPointsDesc(List<Long> ids);
+    List<AppUserSummary> findAppUserSummariesByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+    List<AppUserSummary> findAppUserSummariesByFkPlanIdEquals(Long id);
+    List<AppUserSummary> findAppUserSummariesByFkUserRoleIdEquals(Long id);
+    List<AppUserRanking> findTop50AppUserRankingsByIdIsNotInOrderByPointsDesc(List<Long> ids);
+    List<AppUserRanking> findAppUserRankingsByIdIn(Collection<Long> ids);
+    List<AppUserScore> findAppUserScoresByIdGreaterThanAndIdIsNotInOrderByIdAsc(long id, List<Long> ids, Limit limit);
+    List<AppUserScore> findAppUserScoresByIdIn(Collection<Long> ids);
+    Optional<AppUserScore> findAppUserScoreById(long id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = RepositoryHints.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<AppUserSummary> streamAppUserSummariesByOrderByIdAsc();
 }
@@ -8,10 +8,22 @@
 package goldenage.delfis.api.postgresql.repository;
 
 import goldenage.delfis.api.postgresql.model.AppUserTheme;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface AppUserThemeRepository extends JpaRepository<AppUserTheme, Long> {
+    List<AppUserTheme> findAppUserThemesByIdGreaterThanOrderByIdAsc(long id, Limit limit);
     List<AppUserTheme> findAppUserThemesByFkAppUserId(Long id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = RepositoryHints.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<AppUserTheme> streamAppUserThemesByOrderByIdAsc();
 }
@@ -0,0 +1,20 @@
+/*
+ * Classe LeaderboardSnapshotRepository
+ * Repository da entidade LeaderboardSnapshot
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.postgresql.repository;
+
+import goldenage.delfis.api.postgresql.model.LeaderboardPeriod;
+import goldenage.delfis.api.postgresql.model.LeaderboardSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface LeaderboardSnapshotRepository extends JpaRepository<LeaderboardSnapshot, Long> {
+    List<LeaderboardSnapshot> findLeaderboardSnapshotsByPeriodAndPeriodStartOrderByRankAsc(LeaderboardPeriod period, LocalDate periodStart);
+    boolean existsByPeriodAndPeriodStart(LeaderboardPeriod period, LocalDate periodStart);
+}
@@ -8,11 +8,23 @@
 package goldenage.delfis.api.postgresql.repository;
 
 import goldenage.delfis.api.postgresql.model.PlanPayment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface PlanPaymentRepository extends JpaRepository<PlanPayment, Long> {
+    List<PlanPayment> findPlanPaymentsByIdGreaterThanOrderByIdAsc(long id, Limit limit);
     List<PlanPayment> findPlanPaymentsByFkAppUserIdOrderByExpirationTimestamp(Long id);
     List<PlanPayment> findPlanPaymentsByFkPlanId(Long id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = RepositoryHints.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<PlanPayment> streamPlanPaymentsByOrderByIdAsc();
 }
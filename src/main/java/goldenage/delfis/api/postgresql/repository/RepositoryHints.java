@@ -0,0 +1,16 @@
+/*
+ * Classe RepositoryHints
+ * Valores de @QueryHint compartilhados pelos repositories
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.postgresql.repository;
+
+public final class RepositoryHints {
+    // linhas trazidas por ida ao cursor do Postgres nas consultas em Stream das exportações
+    public static final String EXPORT_FETCH_SIZE = "500";
+
+    private RepositoryHints() {
+    }
+}
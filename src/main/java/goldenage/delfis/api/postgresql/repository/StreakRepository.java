@@ -8,14 +8,26 @@
 package goldenage.delfis.api.postgresql.repository;
 
 import goldenage.delfis.api.postgresql.model.Streak;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface StreakRepository extends JpaRepository<Streak, Long> {
+    List<Streak> findStreaksByIdGreaterThanOrderByIdAsc(long id, Limit limit);
     List<Streak> findStreaksByInitialDateBefore(LocalDate initialDate);
     List<Streak> findStreaksByFkAppUserId(Long id);
     Optional<Streak> findStreakByFkAppUserIdAndFinalDateEquals(Long id, LocalDate date);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = RepositoryHints.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Streak> streamStreaksByOrderByIdAsc();
 }
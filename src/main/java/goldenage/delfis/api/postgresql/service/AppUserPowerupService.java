@@ -7,27 +7,45 @@
 
 package goldenage.delfis.api.postgresql.service;
 
+import goldenage.delfis.api.common.model.CursorPage;
+import goldenage.delfis.api.common.service.NdjsonExportService;
+import goldenage.delfis.api.common.util.CursorUtils;
 import goldenage.delfis.api.postgresql.model.AppUserPowerup;
 import goldenage.delfis.api.postgresql.repository.AppUserPowerupRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class AppUserPowerupService {
     private final AppUserPowerupRepository appUserPowerupRepository;
+    private final NdjsonExportService ndjsonExportService;
 
-    public AppUserPowerupService(AppUserPowerupRepository appUserPowerupRepository) {
+    public AppUserPowerupService(AppUserPowerupRepository appUserPowerupRepository, NdjsonExportService ndjsonExportService) {
         this.appUserPowerupRepository = appUserPowerupRepository;
+        this.ndjsonExportService = ndjsonExportService;
     }
 
     /**
-     * @return todos os appUserPowerups do banco.
+     * @return página de appUserPowerups em ordem de id, depois do cursor; null se não há mais.
      */
-    public List<AppUserPowerup> getAppUserPowerups() {
-        List<AppUserPowerup> appUserPowerups = appUserPowerupRepository.findAll();
-        return appUserPowerups.isEmpty() ? null : appUserPowerups;
+    public CursorPage<AppUserPowerup> getAppUserPowerups(String cursor, int size) {
+        List<AppUserPowerup> appUserPowerups = appUserPowerupRepository.findAppUserPowerupsByIdGreaterThanOrderByIdAsc(CursorUtils.decodeLong(cursor), Limit.of(size + 1));
+        return CursorUtils.page(appUserPowerups, size, AppUserPowerup::getId);
+    }
+
+    /**
+     * Escreve todos os appUserPowerups em NDJSON, em ordem de id.
+     *
+     * @return quantidade de appUserPowerups escritos.
+     */
+    @Transactional(readOnly = true)
+    public long exportAppUserPowerups(OutputStream out) {
+        return ndjsonExportService.writeEntities(appUserPowerupRepository.streamAppUserPowerupsByOrderByIdAsc(), out);
     }
 
     /**
@@ -7,28 +7,70 @@
 
 package goldenage.delfis.api.postgresql.service;
 
+import goldenage.delfis.api.common.model.CursorPage;
+import goldenage.delfis.api.common.service.NdjsonExportService;
+import goldenage.delfis.api.common.util.CursorUtils;
 import goldenage.delfis.api.postgresql.model.AppUser;
+import goldenage.delfis.api.postgresql.model.AppUserRanking;
+import goldenage.delfis.api.postgresql.model.AppUserScore;
+import goldenage.delfis.api.postgresql.model.AppUserSummary;
+import goldenage.delfis.api.postgresql.model.LeaderboardPeriod;
 import goldenage.delfis.api.postgresql.repository.AppUserRepository;
+import goldenage.delfis.api.redis.model.LeaderboardEntry;
+import goldenage.delfis.api.redis.model.LeaderboardPosition;
+import goldenage.delfis.api.redis.service.LeaderboardService;
+import goldenage.delfis.api.redis.service.PeriodLeaderboardService;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class AppUserService {
+    private static final int LEADERBOARD_SIZE = 50;
+
     private final AppUserRepository appUserRepository;
+    private final LeaderboardService leaderboardService;
+    private final PeriodLeaderboardService periodLeaderboardService;
+    private final NdjsonExportService ndjsonExportService;
 
-    public AppUserService(AppUserRepository appUserRepository) {
+    public AppUserService(AppUserRepository appUserRepository, LeaderboardService leaderboardService,
+                          PeriodLeaderboardService periodLeaderboardService, NdjsonExportService ndjsonExportService) {
         this.appUserRepository = appUserRepository;
+        this.leaderboardService = leaderboardService;
+        this.periodLeaderboardService = periodLeaderboardService;
+        this.ndjsonExportService = ndjsonExportService;
     }
 
+    /*
+     * As listagens e os leaderboards leem projeções (AppUserSummary, AppUserRanking): o SELECT traz só as
+     * colunas delas, nada vira entidade gerenciada e a senha nunca sai do banco. As transações só de leitura
+     * deixam o Hibernate pular o flush e a checagem de alterações.
+     * */
+
     /**
-     * @return todos os appUsers do banco.
+     * @return página de appUsers em ordem de id, depois do cursor; null se não há mais.
      */
-    public List<AppUser> getAppUsers() {
-        List<AppUser> appUsers = appUserRepository.findAll();
-        return appUsers.isEmpty() ? null : appUsers;
+    @Transactional(readOnly = true)
+    public CursorPage<AppUserSummary> getAppUsers(String cursor, int size) {
+        List<AppUserSummary> appUsers = appUserRepository.findAppUserSummariesByIdGreaterThanOrderByIdAsc(CursorUtils.decodeLong(cursor), Limit.of(size + 1));
+        return CursorUtils.page(appUsers, size, AppUserSummary::getId);
+    }
+
+    /**
+     * Escreve todos os appUsers em NDJSON, em ordem de id, com os mesmos campos da listagem.
+     *
+     * @return quantidade de appUsers escritos.
+     */
+    @Transactional(readOnly = true)
+    public long exportAppUsers(OutputStream out) {
+        return ndjsonExportService.write(appUserRepository.streamAppUserSummariesByOrderByIdAsc(), out);
     }
 
     /**
@@ -50,29 +92,97 @@ public class AppUserService {
     /**
      * @return appUsers pelo plano.
      */
-    public List<AppUser> getAppUsersByPlanId(Long id) {
-        List<AppUser> appUsers = appUserRepository.findAppUsersByFkPlanIdEquals(id);
+    @Transactional(readOnly = true)
+    public List<AppUserSummary> getAppUsersByPlanId(Long id) {
+        List<AppUserSummary> appUsers = appUserRepository.findAppUserSummariesByFkPlanIdEquals(id);
         return appUsers.isEmpty() ? null : appUsers;
     }
 
     /**
      * @return appUsers pelo role.
      */
-    public List<AppUser> getAppUsersByUserRoleId(Long id) {
-        List<AppUser> appUsers = appUserRepository.findAppUsersByFkUserRoleIdEquals(id);
+    @Transactional(readOnly = true)
+    public List<AppUserSummary> getAppUsersByUserRoleId(Long id) {
+        List<AppUserSummary> appUsers = appUserRepository.findAppUserSummariesByFkUserRoleIdEquals(id);
         return appUsers.isEmpty() ? null : appUsers;
     }
 
     /**
+     * Os ids e a ordem vêm do sorted set do Redis; o Postgres só busca esses usuários pela chave primária.
+     * Sem o set (Redis fora ou ainda não montado), ordena no Postgres como antes.
+     *
      * @return appUsers ordenado pelos pontos decrescente.
      */
-    public List<AppUser> getLeaderboard() {
-        List<Long> systemIds = new ArrayList<>();
-        systemIds.add(1L);
-        List<AppUser> appUsers = appUserRepository.findTop50ByIdIsNotInOrderByPointsDesc(systemIds);
+    @Transactional(readOnly = true)
+    public List<AppUserRanking> getLeaderboard() {
+        List<Long> topIds = leaderboardService.getTopUserIds(LEADERBOARD_SIZE);
+        if (topIds == null) {
+            List<Long> systemIds = new ArrayList<>(LeaderboardService.SYSTEM_USER_IDS);
+            List<AppUserRanking> appUsers = appUserRepository.findTop50AppUserRankingsByIdIsNotInOrderByPointsDesc(systemIds);
+            return appUsers.isEmpty() ? null : appUsers;
+        }
+
+        Map<Long, AppUserRanking> byId = rankingsById(topIds);
+        List<AppUserRanking> appUsers = new ArrayList<>(topIds.size());
+        for (Long id : topIds) {
+            AppUserRanking appUser = byId.get(id);
+            if (appUser != null) appUsers.add(appUser);
+        }
         return appUsers.isEmpty() ? null : appUsers;
     }
 
+    /**
+     * @return os primeiros da janela atual com os usuários preenchidos; null se ninguém pontuou nela.
+     */
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntry> getLeaderboard(LeaderboardPeriod period) {
+        List<LeaderboardEntry> entries = periodLeaderboardService.getTop(period, LEADERBOARD_SIZE);
+        if (entries == null) return null;
+
+        fillAppUsers(entries);
+        return entries;
+    }
+
+    /**
+     * Posição do usuário e a vizinhança, lidas do sorted set do período (null = pontos totais). No leaderboard
+     * de pontos totais, usuário que ainda não está no set (ex.: antes da primeira reconstrução) é adicionado na hora.
+     *
+     * @return posição do usuário; null se o usuário não existe, é do sistema, não pontuou no período ou o Redis está fora.
+     */
+    @Transactional(readOnly = true)
+    public LeaderboardPosition getLeaderboardPosition(long id, int window, LeaderboardPeriod period) {
+        AppUserScore score = appUserRepository.findAppUserScoreById(id).orElse(null);
+        if (score == null || LeaderboardService.SYSTEM_USER_IDS.contains(id)) return null;
+
+        LeaderboardPosition position;
+        if (period != null) {
+            position = periodLeaderboardService.getPosition(period, id, window);
+        } else {
+            position = leaderboardService.getPosition(id, window);
+            if (position == null) {
+                leaderboardService.updateScore(id, score.getPoints());
+                position = leaderboardService.getPosition(id, window);
+            }
+        }
+        if (position == null) return null;
+
+        fillAppUsers(position.getEntries());
+        return position;
+    }
+
+    private void fillAppUsers(List<LeaderboardEntry> entries) {
+        List<Long> ids = new ArrayList<>(entries.size());
+        for (LeaderboardEntry entry : entries) ids.add(entry.getAppUserId());
+        Map<Long, AppUserRanking> byId = rankingsById(ids);
+        for (LeaderboardEntry entry : entries) entry.setAppUser(byId.get(entry.getAppUserId()));
+    }
+
+    private Map<Long, AppUserRanking> rankingsById(List<Long> ids) {
+        Map<Long, AppUserRanking> byId = new HashMap<>();
+        for (AppUserRanking appUser : appUserRepository.findAppUserRankingsByIdIn(ids)) byId.put(appUser.getId(), appUser);
+        return byId;
+    }
+
     /**
      * @return appUser pelo id.
      */
@@ -86,15 +196,25 @@ public class AppUserService {
      */
     public AppUser deleteAppUserById(Long id) {
         AppUser appUser = getAppUserById(id);
-        if (appUser != null) appUserRepository.deleteById(id);
+        if (appUser != null) {
+            appUserRepository.deleteById(id);
+            leaderboardService.removeUser(id);
+        }
         return appUser;
     }
 
     /**
+     * Toda mudança de pontos passa por aqui, então os leaderboards são atualizados junto; o ganho
+     * de pontos é a diferença para os pontos gravados antes.
+     *
      * @return appUser inserido.
      */
     public AppUser saveAppUser(AppUser appUser) {
         appUser.setName(appUser.getName().strip().toUpperCase());
-        return appUserRepository.save(appUser);
+        int previousPoints = appUserRepository.findAppUserScoreById(appUser.getId()).map(AppUserScore::getPoints).orElse(0);
+        AppUser saved = appUserRepository.save(appUser);
+        leaderboardService.updateScore(saved);
+        periodLeaderboardService.recordPointsEarned(saved.getId(), saved.getPoints() - previousPoints);
+        return saved;
     }
 }
@@ -7,27 +7,45 @@
 
 package goldenage.delfis.api.postgresql.service;
 
+import goldenage.delfis.api.common.model.CursorPage;
+import goldenage.delfis.api.common.service.NdjsonExportService;
+import goldenage.delfis.api.common.util.CursorUtils;
 import goldenage.delfis.api.postgresql.model.AppUserTheme;
 import goldenage.delfis.api.postgresql.repository.AppUserThemeRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class AppUserThemeService {
     private final AppUserThemeRepository appUserThemeRepository;
+    private final NdjsonExportService ndjsonExportService;
 
-    public AppUserThemeService(AppUserThemeRepository appUserThemeRepository) {
+    public AppUserThemeService(AppUserThemeRepository appUserThemeRepository, NdjsonExportService ndjsonExportService) {
         this.appUserThemeRepository = appUserThemeRepository;
+        this.ndjsonExportService = ndjsonExportService;
     }
 
     /**
-     * @return todos os appUserThemes do banco.
+     * @return página de appUserThemes em ordem de id, depois do cursor; null se não há mais.
      */
-    public List<AppUserTheme> getAppUserThemes() {
-        List<AppUserTheme> appUserThemes = appUserThemeRepository.findAll();
-        return appUserThemes.isEmpty() ? null : appUserThemes;
+    public CursorPage<AppUserTheme> getAppUserThemes(String cursor, int size) {
+        List<AppUserTheme> appUserThemes = appUserThemeRepository.findAppUserThemesByIdGreaterThanOrderByIdAsc(CursorUtils.decodeLong(cursor), Limit.of(size + 1));
+        return CursorUtils.page(appUserThemes, size, AppUserTheme::getId);
+    }
+
+    /**
+     * Escreve todos os appUserThemes em NDJSON, em ordem de id.
+     *
+     * @return quantidade de appUserThemes escritos.
+     */
+    @Transactional(readOnly = true)
+    public long exportAppUserThemes(OutputStream out) {
+        return ndjsonExportService.writeEntities(appUserThemeRepository.streamAppUserThemesByOrderByIdAsc(), out);
     }
 
     /**
@@ -0,0 +1,47 @@
+/*
+ * Classe LeaderboardSnapshotService
+ * Service da entidade LeaderboardSnapshot
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.postgresql.service;
+
+import goldenage.delfis.api.postgresql.model.LeaderboardPeriod;
+import goldenage.delfis.api.postgresql.model.LeaderboardSnapshot;
+import goldenage.delfis.api.postgresql.repository.LeaderboardSnapshotRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+public class LeaderboardSnapshotService {
+    private final LeaderboardSnapshotRepository leaderboardSnapshotRepository;
+
+    public LeaderboardSnapshotService(LeaderboardSnapshotRepository leaderboardSnapshotRepository) {
+        this.leaderboardSnapshotRepository = leaderboardSnapshotRepository;
+    }
+
+    /**
+     * @return classificação final da janela, em ordem de posição.
+     */
+    public List<LeaderboardSnapshot> getSnapshot(LeaderboardPeriod period, LocalDate periodStart) {
+        List<LeaderboardSnapshot> snapshots = leaderboardSnapshotRepository.findLeaderboardSnapshotsByPeriodAndPeriodStartOrderByRankAsc(period, periodStart);
+        return snapshots.isEmpty() ? null : snapshots;
+    }
+
+    /**
+     * @return true se a janela já foi gravada.
+     */
+    public boolean hasSnapshot(LeaderboardPeriod period, LocalDate periodStart) {
+        return leaderboardSnapshotRepository.existsByPeriodAndPeriodStart(period, periodStart);
+    }
+
+    /**
+     * @return classificações gravadas.
+     */
+    public List<LeaderboardSnapshot> saveSnapshot(List<LeaderboardSnapshot> snapshots) {
+        return leaderboardSnapshotRepository.saveAll(snapshots);
+    }
+}
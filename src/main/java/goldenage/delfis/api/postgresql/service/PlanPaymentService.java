@@ -7,27 +7,45 @@
 
 package goldenage.delfis.api.postgresql.service;
 
+import goldenage.delfis.api.common.model.CursorPage;
+import goldenage.delfis.api.common.service.NdjsonExportService;
+import goldenage.delfis.api.common.util.CursorUtils;
 import goldenage.delfis.api.postgresql.model.PlanPayment;
 import goldenage.delfis.api.postgresql.repository.PlanPaymentRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class PlanPaymentService {
     private final PlanPaymentRepository planPaymentRepository;
+    private final NdjsonExportService ndjsonExportService;
 
-    public PlanPaymentService(PlanPaymentRepository planPaymentRepository) {
+    public PlanPaymentService(PlanPaymentRepository planPaymentRepository, NdjsonExportService ndjsonExportService) {
         this.planPaymentRepository = planPaymentRepository;
+        this.ndjsonExportService = ndjsonExportService;
     }
 
     /**
-     * @return todos os planPayments do banco.
+     * @return página de planPayments em ordem de id, depois do cursor; null se não há mais.
      */
-    public List<PlanPayment> getPlanPayments() {
-        List<PlanPayment> planPayments = planPaymentRepository.findAll();
-        return planPayments.isEmpty() ? null : planPayments;
+    public CursorPage<PlanPayment> getPlanPayments(String cursor, int size) {
+        List<PlanPayment> planPayments = planPaymentRepository.findPlanPaymentsByIdGreaterThanOrderByIdAsc(CursorUtils.decodeLong(cursor), Limit.of(size + 1));
+        return CursorUtils.page(planPayments, size, PlanPayment::getId);
+    }
+
+    /**
+     * Escreve todos os planPayments em NDJSON, em ordem de id.
+     *
+     * @return quantidade de planPayments escritos.
+     */
+    @Transactional(readOnly = true)
+    public long exportPlanPayments(OutputStream out) {
+        return ndjsonExportService.writeEntities(planPaymentRepository.streamPlanPaymentsByOrderByIdAsc(), out);
     }
 
     /**
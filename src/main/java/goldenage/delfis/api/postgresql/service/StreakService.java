@@ -7,10 +7,16 @@
 
 package goldenage.delfis.api.postgresql.service;
 
+import goldenage.delfis.api.common.model.CursorPage;
+import goldenage.delfis.api.common.service.NdjsonExportService;
+import goldenage.delfis.api.common.util.CursorUtils;
 import goldenage.delfis.api.postgresql.model.Streak;
 import goldenage.delfis.api.postgresql.repository.StreakRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -18,17 +24,29 @@ import java.util.Optional;
 @Service
 public class StreakService {
     private final StreakRepository streakRepository;
+    private final NdjsonExportService ndjsonExportService;
 
-    public StreakService(StreakRepository streakRepository) {
+    public StreakService(StreakRepository streakRepository, NdjsonExportService ndjsonExportService) {
         this.streakRepository = streakRepository;
+        this.ndjsonExportService = ndjsonExportService;
     }
 
     /**
-     * @return todos os streaks do banco.
+     * @return página de streaks em ordem de id, depois do cursor; null se não há mais.
      */
-    public List<Streak> getStreaks() {
-        List<Streak> streaks = streakRepository.findAll();
-        return streaks.isEmpty() ? null : streaks;
+    public CursorPage<Streak> getStreaks(String cursor, int size) {
+        List<Streak> streaks = streakRepository.findStreaksByIdGreaterThanOrderByIdAsc(CursorUtils.decodeLong(cursor), Limit.of(size + 1));
+        return CursorUtils.page(streaks, size, Streak::getId);
+    }
+
+    /**
+     * Escreve todos os streaks em NDJSON, em ordem de id.
+     *
+     * @return quantidade de streaks escritos.
+     */
+    @Transactional(readOnly = true)
+    public long exportStreaks(OutputStream out) {
+        return ndjsonExportService.writeEntities(streakRepository.streamStreaksByOrderByIdAsc(), out);
     }
 
     /**
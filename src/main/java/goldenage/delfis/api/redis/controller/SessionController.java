@@ -7,20 +7,26 @@
 
 package goldenage.delfis.api.redis.controller;
 
+import goldenage.delfis.api.common.model.CursorPage;
+import goldenage.delfis.api.common.util.CursorUtils;
+import goldenage.delfis.api.common.util.ExportUtils;
 import goldenage.delfis.api.postgresql.model.AppUser;
 import goldenage.delfis.api.postgresql.service.AppUserService;
 import goldenage.delfis.api.redis.model.Session;
 import goldenage.delfis.api.redis.service.SessionService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -39,18 +45,33 @@ public class SessionController {
     }
 
     @GetMapping("/get-all")
-    @Operation(summary = "Obter todas as sessões", description = "Retorna uma lista de todas as sessões.")
+    @Operation(summary = "Obter todas as sessões", description = "Retorna uma lista de todas as sessões. " +
+            "Sessões expiradas somem da página, que pode vir menor ou vazia: continue enquanto houver nextCursor.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de sessões encontradas", content = @Content(array = @ArraySchema(schema = @Schema(implementation = Session.class)))),
+            @ApiResponse(responseCode = "200", description = "Lista de sessões encontradas", content = @Content(schema = @Schema(implementation = CursorPage.class))),
             @ApiResponse(responseCode = "404", description = "Nenhuma sessão encontrada", content = @Content)
     })
-    public ResponseEntity<List<Session>> getSessions() {
-        List<Session> sessions = sessionService.getSessions();
-        if (sessions != null && !sessions.isEmpty())
+    public ResponseEntity<CursorPage<Session>> getSessions(
+            @Parameter(description = "Cursor da página, vindo de nextCursor; vazio para a primeira")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo " + CursorUtils.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = CursorUtils.DEFAULT_PAGE_SIZE) int size) {
+        CursorUtils.verifyPageSize(size);
+        CursorPage<Session> sessions = sessionService.getSessions(cursor, size);
+        if (sessions != null)
             return ResponseEntity.status(HttpStatus.OK).body(sessions);
         throw new EntityNotFoundException("Nenhuma sessão encontrada.");
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Exportar sessões", description = "Retorna todas as sessões em NDJSON (um JSON por linha), em ordem de ID, escritos conforme são lidos do banco.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação em andamento", content = @Content(mediaType = "application/x-ndjson"))
+    })
+    public WebAsyncTask<Void> exportSessions(HttpServletResponse response) {
+        return ExportUtils.ndjson(response, "sessions.ndjson", sessionService::exportSessions);
+    }
+
     @PostMapping("/insert/{fkAppUserId}")
     @Operation(summary = "Inserir uma nova sessão", description = "Insere uma nova sessão.")
     @ApiResponses(value = {
@@ -0,0 +1,33 @@
+/*
+ * Classe LeaderboardEntry
+ * Posição de um usuário no leaderboard
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.redis.model;
+
+import goldenage.delfis.api.postgresql.model.AppUserRanking;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Usuário e sua posição no leaderboard.")
+public class LeaderboardEntry {
+    @Schema(description = "Posição no leaderboard, começando em 1", example = "42")
+    private long rank;
+
+    @Schema(description = "ID do usuário", example = "1234")
+    private long appUserId;
+
+    @Schema(description = "Pontos do usuário", example = "40")
+    private long points;
+
+    @Schema(description = "Usuário")
+    private AppUserRanking appUser;
+}
@@ -0,0 +1,31 @@
+/*
+ * Classe LeaderboardPosition
+ * Posição de um usuário no leaderboard e os usuários em volta
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.redis.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Schema(description = "Posição de um usuário no leaderboard com os usuários logo acima e logo abaixo.")
+public class LeaderboardPosition {
+    @Schema(description = "Posição do usuário, começando em 1", example = "42")
+    private long rank;
+
+    @Schema(description = "Total de usuários no leaderboard", example = "1500")
+    private long totalPlayers;
+
+    @Schema(description = "Usuários da vizinhança, em ordem de posição, incluindo o próprio usuário")
+    private List<LeaderboardEntry> entries;
+}
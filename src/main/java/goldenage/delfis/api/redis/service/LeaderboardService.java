@@ -0,0 +1,289 @@
+/*
+ * Classe LeaderboardService
+ * Leaderboard de pontos mantido num sorted set do Redis
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.redis.service;
+
+import goldenage.delfis.api.postgresql.model.AppUser;
+import goldenage.delfis.api.postgresql.model.AppUserScore;
+import goldenage.delfis.api.postgresql.repository.AppUserRepository;
+import goldenage.delfis.api.redis.model.LeaderboardEntry;
+import goldenage.delfis.api.redis.model.LeaderboardPosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Pontos de todos os usuários num sorted set (membro = id, score = pontos). O top do leaderboard é um
+ * ZREVRANGE, O(log N + 50), em vez de ordenar app_user no Postgres a cada leitura.
+ * <p>
+ * O set é atualizado a cada gravação ou remoção de usuário pelo AppUserService e reconstruído a partir do
+ * Postgres na subida (só se o set não existe) e todo dia; a reconstrução monta um set novo e troca com RENAME, então a leitura nunca
+ * vê o set pela metade. Se o Redis falhar, as escritas só registram o erro e a leitura volta para o Postgres.
+ * <p>
+ * Cada escrita também marca o id em "leaderboard:points:dirty". A reconstrução limpa essa marca antes de ler o
+ * Postgres e, depois do RENAME, relê do Postgres os ids marcados no meio do caminho, que o set novo teria
+ * sobrescrito com pontos antigos.
+ * <p>
+ * Todas as instâncias agendam a reconstrução e usam as mesmas chaves, então ela roda sob um lock no Redis
+ * (SET NX PX): quem não consegue o lock pula a rodada, em vez de apagar o set temporário e as marcas de outra.
+ */
+@Service
+public class LeaderboardService {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+    public static final String KEY = "leaderboard:points";
+    private static final String REBUILD_KEY = KEY + ":rebuild";
+    private static final String DIRTY_KEY = KEY + ":dirty";
+    private static final String LOCK_KEY = KEY + ":lock";
+    // maior que qualquer reconstrução; só vence se a instância morrer com o lock
+    private static final Duration LOCK_TTL = Duration.ofMinutes(30);
+    // só solta o lock se ainda for o dono: depois do TTL outra instância pode ter pegado
+    private static final RedisScript<Long> RELEASE_LOCK = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+    // usuários do sistema, fora do leaderboard
+    public static final List<Long> SYSTEM_USER_IDS = List.of(1L);
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final AppUserRepository appUserRepository;
+
+    public LeaderboardService(StringRedisTemplate stringRedisTemplate, AppUserRepository appUserRepository) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.appUserRepository = appUserRepository;
+    }
+
+    /**
+     * Atualiza os pontos do usuário no set.
+     */
+    public void updateScore(AppUser appUser) {
+        updateScore(appUser.getId(), appUser.getPoints());
+    }
+
+    /**
+     * Atualiza os pontos do usuário no set.
+     */
+    public void updateScore(long appUserId, int points) {
+        if (SYSTEM_USER_IDS.contains(appUserId)) return;
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                redis.zAdd(KEY, points, String.valueOf(appUserId));
+                redis.sAdd(DIRTY_KEY, String.valueOf(appUserId));
+                return null;
+            });
+        } catch (DataAccessException e) {
+            logger.error("Erro ao atualizar o leaderboard do usuário {}: ", appUserId, e);
+        }
+    }
+
+    /**
+     * Tira o usuário do set.
+     */
+    public void removeUser(long appUserId) {
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                redis.zRem(KEY, String.valueOf(appUserId));
+                redis.sAdd(DIRTY_KEY, String.valueOf(appUserId));
+                return null;
+            });
+        } catch (DataAccessException e) {
+            logger.error("Erro ao remover o usuário {} do leaderboard: ", appUserId, e);
+        }
+    }
+
+    /**
+     * @return ids dos limit usuários com mais pontos, em ordem; null se o set não existe ou o Redis falhou.
+     */
+    public List<Long> getTopUserIds(int limit) {
+        try {
+            Set<String> members = stringRedisTemplate.opsForZSet().reverseRange(KEY, 0, limit - 1);
+            if (members == null || members.isEmpty()) return null;
+
+            List<Long> ids = new ArrayList<>(members.size());
+            for (String member : members) ids.add(Long.parseLong(member));
+            return ids;
+        } catch (DataAccessException e) {
+            logger.error("Erro ao ler o leaderboard: ", e);
+            return null;
+        }
+    }
+
+    /**
+     * Posição exata do usuário (ZREVRANK, O(log N)) e os window usuários acima e abaixo dele (ZREVRANGE, O(log N + janela)).
+     * Empates ficam na ordem do Redis (id em ordem decrescente de texto), então cada usuário tem uma posição única.
+     * Os AppUser das entradas não são preenchidos aqui.
+     *
+     * @return posição do usuário; null se ele não está no set ou o Redis falhou.
+     */
+    public LeaderboardPosition getPosition(long appUserId, int window) {
+        return getPosition(KEY, appUserId, window);
+    }
+
+    /**
+     * Mesma leitura de {@link #getPosition(long, int)} sobre outro sorted set de leaderboard.
+     */
+    public LeaderboardPosition getPosition(String key, long appUserId, int window) {
+        try {
+            ZSetOperations<String, String> zSet = stringRedisTemplate.opsForZSet();
+            Long rank = zSet.reverseRank(key, String.valueOf(appUserId));
+            if (rank == null) return null;
+
+            long from = Math.max(0, rank - window);
+            Set<ZSetOperations.TypedTuple<String>> members = zSet.reverseRangeWithScores(key, from, rank + window);
+            Long total = zSet.zCard(key);
+            if (members == null || total == null) return null;
+
+            return new LeaderboardPosition(rank + 1, total, toEntries(members, from));
+        } catch (DataAccessException e) {
+            logger.error("Erro ao ler a posição do usuário {} no leaderboard {}: ", appUserId, key, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return os limit primeiros do sorted set, sem os AppUser; null se o set não existe ou o Redis falhou.
+     */
+    public List<LeaderboardEntry> getTopEntries(String key, int limit) {
+        try {
+            Set<ZSetOperations.TypedTuple<String>> members = stringRedisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit - 1);
+            if (members == null || members.isEmpty()) return null;
+            return toEntries(members, 0);
+        } catch (DataAccessException e) {
+            logger.error("Erro ao ler o leaderboard {}: ", key, e);
+            return null;
+        }
+    }
+
+    private static List<LeaderboardEntry> toEntries(Set<ZSetOperations.TypedTuple<String>> members, long from) {
+        List<LeaderboardEntry> entries = new ArrayList<>(members.size());
+        long position = from;
+        for (ZSetOperations.TypedTuple<String> member : members) {
+            long points = member.getScore() == null ? 0 : member.getScore().longValue();
+            entries.add(new LeaderboardEntry(++position, Long.parseLong(member.getValue()), points, null));
+        }
+        return entries;
+    }
+
+    /*
+     * Na subida só reconstrói se o set não existe: com ele no Redis, as escritas já o mantêm em dia.
+     * */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        try {
+            if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(KEY))) return;
+        } catch (DataAccessException e) {
+            logger.error("Erro ao ler o leaderboard: ", e);
+            return;
+        }
+        rebuild();
+    }
+
+    /**
+     * Reconstrói o set a partir do Postgres: lê só id e pontos em páginas por id, grava cada página num set
+     * temporário em pipeline assim que é lida, troca pelo atual com RENAME e reaplica as escritas feitas durante
+     * a reconstrução. Se outra instância já está reconstruindo, não faz nada.
+     *
+     * @return quantidade de usuários no leaderboard; 0 se a reconstrução foi pulada ou falhou.
+     */
+    @Scheduled(cron = "${delfis.leaderboard.rebuild-cron:0 30 4 * * *}")
+    public int rebuild() {
+        String token = UUID.randomUUID().toString();
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, LOCK_TTL))) {
+                logger.info("Leaderboard já está sendo reconstruído por outra instância.");
+                return 0;
+            }
+        } catch (DataAccessException e) {
+            logger.error("Erro ao reconstruir o leaderboard: ", e);
+            return 0;
+        }
+
+        try {
+            stringRedisTemplate.delete(List.of(REBUILD_KEY, DIRTY_KEY));
+            int total = 0;
+            long lastId = 0;
+            List<AppUserScore> batch;
+            while (!(batch = appUserRepository.findAppUserScoresByIdGreaterThanAndIdIsNotInOrderByIdAsc(
+                    lastId, SYSTEM_USER_IDS, Limit.of(REBUILD_BATCH_SIZE))).isEmpty()) {
+                List<AppUserScore> scores = batch;
+                stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection redis = (StringRedisConnection) connection;
+                    for (AppUserScore score : scores) redis.zAdd(REBUILD_KEY, score.getPoints(), String.valueOf(score.getId()));
+                    return null;
+                });
+                total += batch.size();
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+
+            if (total == 0) stringRedisTemplate.delete(KEY);
+            else stringRedisTemplate.rename(REBUILD_KEY, KEY);
+            int replayed = replayDirty();
+            logger.info("Leaderboard reconstruído com {} usuários ({} reaplicados).", total, replayed);
+            return total;
+        } catch (DataAccessException e) {
+            logger.error("Erro ao reconstruir o leaderboard: ", e);
+            return 0;
+        } finally {
+            releaseLock(token);
+        }
+    }
+
+    private void releaseLock(String token) {
+        try {
+            stringRedisTemplate.execute(RELEASE_LOCK, List.of(LOCK_KEY), token);
+        } catch (DataAccessException e) {
+            logger.warn("Não foi possível soltar o lock do leaderboard, ele expira sozinho: {}", e.getMessage());
+        }
+    }
+
+    /*
+     * Relê do Postgres os ids marcados durante a reconstrução e corrige o set: os pontos atuais, ou a remoção
+     * se o usuário não existe mais.
+     *
+     * @return quantidade de ids reaplicados.
+     * */
+    private int replayDirty() {
+        int replayed = 0;
+        List<String> members;
+        while ((members = stringRedisTemplate.opsForSet().pop(DIRTY_KEY, REBUILD_BATCH_SIZE)) != null && !members.isEmpty()) {
+            Set<Long> ids = new HashSet<>();
+            for (String member : members) ids.add(Long.parseLong(member));
+            Map<Long, Integer> points = new HashMap<>();
+            for (AppUserScore score : appUserRepository.findAppUserScoresByIdIn(ids)) points.put(score.getId(), score.getPoints());
+
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (Long id : ids) {
+                    if (!SYSTEM_USER_IDS.contains(id) && points.containsKey(id)) redis.zAdd(KEY, points.get(id), String.valueOf(id));
+                    else redis.zRem(KEY, String.valueOf(id));
+                }
+                return null;
+            });
+            replayed += ids.size();
+        }
+        return replayed;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Classe PeriodLeaderboardService
+ * Leaderboards diário e semanal mantidos em sorted sets do Redis
+ * Autor: João Diniz Araujo
+ * Data: 17/10/2026
+ * */
+
+package goldenage.delfis.api.redis.service;
+
+import goldenage.delfis.api.postgresql.model.LeaderboardPeriod;
+import goldenage.delfis.api.postgresql.model.LeaderboardSnapshot;
+import goldenage.delfis.api.postgresql.service.LeaderboardSnapshotService;
+import goldenage.delfis.api.redis.model.LeaderboardEntry;
+import goldenage.delfis.api.redis.model.LeaderboardPosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pontos ganhos por janela de tempo, para que jogadores novos também apareçam num leaderboard. Cada ganho
+ * de pontos entra com ZINCRBY no set do dia ("leaderboard:daily:2026-10-17"), que expira sozinho; o set
+ * da semana ("leaderboard:weekly:2026-10-12", a semana começa na segunda) não recebe escrita direta: é a
+ * união (ZUNIONSTORE) dos sets diários da semana, refeita de tempos em tempos. Leituras são ZREVRANK e
+ * ZREVRANGE, sem tocar em tabela.
+ * <p>
+ * Logo depois da meia-noite a classificação final de cada janela encerrada é gravada no Postgres
+ * (LeaderboardSnapshot). A mesma rotina roda na subida e olha alguns dias para trás, então uma virada
+ * perdida com a aplicação fora do ar é gravada depois, enquanto os sets ainda existem.
+ */
+@Service
+public class PeriodLeaderboardService {
+    private static final Logger logger = LoggerFactory.getLogger(PeriodLeaderboardService.class);
+    private static final String KEY_PREFIX = "leaderboard:";
+    // o set diário precisa durar até a semana dele ser fechada (segunda seguinte), com folga para atrasos
+    private static final Duration DAILY_TTL = Duration.ofDays(9);
+    private static final Duration WEEKLY_TTL = Duration.ofDays(15);
+    // dias para trás olhados ao fechar janelas; não passa do DAILY_TTL
+    private static final int CATCH_UP_DAYS = 7;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LeaderboardService leaderboardService;
+    private final LeaderboardSnapshotService leaderboardSnapshotService;
+    private final ZoneId zone;
+    private final int snapshotSize;
+
+    public PeriodLeaderboardService(StringRedisTemplate stringRedisTemplate, LeaderboardService leaderboardService,
+                                    LeaderboardSnapshotService leaderboardSnapshotService,
+                                    @Value("${delfis.daily.zone:America/Sao_Paulo}") String zone,
+                                    @Value("${delfis.leaderboard.snapshot-size:1000}") int snapshotSize) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.leaderboardService = leaderboardService;
+        this.leaderboardSnapshotService = leaderboardSnapshotService;
+        this.zone = ZoneId.of(zone);
+        this.snapshotSize = snapshotSize;
+    }
+
+    /**
+     * @return chave do sorted set da janela que começa em start.
+     */
+    public static String key(LeaderboardPeriod period, LocalDate start) {
+        return KEY_PREFIX + period.name().toLowerCase() + ":" + start;
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(zone);
+    }
+
+    /**
+     * Soma pontos ganhos ao set do dia. Ganhos zero ou negativos (correções, compras) não contam.
+     */
+    public void recordPointsEarned(long appUserId, long points) {
+        if (points <= 0 || LeaderboardService.SYSTEM_USER_IDS.contains(appUserId)) return;
+        String key = key(LeaderboardPeriod.DAILY, today());
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                redis.zIncrBy(key, points, String.valueOf(appUserId));
+                redis.expire(key, DAILY_TTL.toSeconds());
+                return null;
+            });
+        } catch (DataAccessException e) {
+            logger.error("Erro ao registrar {} pontos do usuário {}: ", points, appUserId, e);
+        }
+    }
+
+    /**
+     * @return os limit primeiros da janela atual, sem os AppUser; null se ninguém pontuou ou o Redis falhou.
+     */
+    public List<LeaderboardEntry> getTop(LeaderboardPeriod period, int limit) {
+        return leaderboardService.getTopEntries(key(period, period.startOf(today())), limit);
+    }
+
+    /**
+     * @return posição do usuário na janela atual; null se ele não pontuou nela ou o Redis falhou.
+     */
+    public LeaderboardPosition getPosition(LeaderboardPeriod period, long appUserId, int window) {
+        return leaderboardService.getPosition(key(period, period.startOf(today())), appUserId, window);
+    }
+
+    /**
+     * Refaz o set da semana atual a partir dos dias até hoje.
+     */
+    @Scheduled(fixedDelayString = "${delfis.leaderboard.weekly-merge-ms:60000}")
+    public void mergeCurrentWeek() {
+        LocalDate today = today();
+        mergeWeek(LeaderboardPeriod.WEEKLY.startOf(today), today);
+    }
+
+    private void mergeWeek(LocalDate weekStart, LocalDate lastDay) {
+        List<String> dailyKeys = new ArrayList<>();
+        for (LocalDate day = weekStart; !day.isAfter(lastDay) && !day.isAfter(LeaderboardPeriod.WEEKLY.endOf(weekStart)); day = day.plusDays(1)) {
+            dailyKeys.add(key(LeaderboardPeriod.DAILY, day));
+        }
+        if (dailyKeys.isEmpty()) return;
+
+        String weeklyKey = key(LeaderboardPeriod.WEEKLY, weekStart);
+        try {
+            stringRedisTemplate.opsForZSet().unionAndStore(dailyKeys.get(0), dailyKeys.subList(1, dailyKeys.size()), weeklyKey);
+            stringRedisTemplate.expire(weeklyKey, WEEKLY_TTL);
+        } catch (DataAccessException e) {
+            logger.error("Erro ao montar o leaderboard da semana {}: ", weekStart, e);
+        }
+    }
+
+    /**
+     * Grava no Postgres a classificação final dos dias e da semana já encerrados que ainda não foram gravados.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 10 0 * * *", zone = "${delfis.daily.zone:America/Sao_Paulo}")
+    public void closeWindows() {
+        LocalDate today = today();
+        for (int back = CATCH_UP_DAYS; back >= 1; back--) {
+            LocalDate day = today.minusDays(back);
+            if (!hasSnapshot(LeaderboardPeriod.DAILY, day)) snapshot(LeaderboardPeriod.DAILY, day);
+        }
+
+        LocalDate lastWeek = LeaderboardPeriod.WEEKLY.startOf(today).minusWeeks(1);
+        if (!hasSnapshot(LeaderboardPeriod.WEEKLY, lastWeek)) {
+            // junta de novo com a semana inteira: a última união agendada pode ter sido antes dos pontos de domingo à noite
+            mergeWeek(lastWeek, LeaderboardPeriod.WEEKLY.endOf(lastWeek));
+            snapshot(LeaderboardPeriod.WEEKLY, lastWeek);
+        }
+    }
+
+    private boolean hasSnapshot(LeaderboardPeriod period, LocalDate start) {
+        try {
+            return leaderboardSnapshotService.hasSnapshot(period, start);
+        } catch (DataAccessException e) {
+            logger.error("Erro ao consultar a classificação de {} {}: ", period, start, e);
+            return true;
+        }
+    }
+
+    private void snapshot(LeaderboardPeriod period, LocalDate start) {
+        List<LeaderboardEntry> entries = leaderboardService.getTopEntries(key(period, start), snapshotSize);
+        if (entries == null) return;
+
+        LocalDateTime now = LocalDateTime.now(zone);
+        List<LeaderboardSnapshot> snapshots = new ArrayList<>(entries.size());
+        for (LeaderboardEntry entry : entries) {
+            snapshots.add(new LeaderboardSnapshot(0, period, start, entry.getRank(), entry.getAppUserId(), entry.getPoints(), now));
+        }
+        try {
+            leaderboardSnapshotService.saveSnapshot(snapshots);
+            logger.info("Classificação de {} {} gravada com {} usuários.", period, start, snapshots.size());
+        } catch (DataIntegrityViolationException e) {
+            // outra instância gravou antes
+            logger.info("Classificação de {} {} já gravada.", period, start);
+        } catch (DataAccessException e) {
+            logger.error("Erro ao gravar a classificação de {} {}: ", period, start, e);
+        }
+    }
+}
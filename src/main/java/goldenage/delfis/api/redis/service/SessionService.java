@@ -7,32 +7,138 @@
 
 package goldenage.delfis.api.redis.service;
 
+import goldenage.delfis.api.common.model.CursorPage;
+import goldenage.delfis.api.common.service.NdjsonExportService;
+import goldenage.delfis.api.common.util.CursorUtils;
 import goldenage.delfis.api.redis.model.Session;
 import goldenage.delfis.api.redis.repository.SessionRepository;
 import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
 
+/**
+ * Além do hash de cada sessão, mantém o índice "Session:ordered": um sorted set com todos os ids e score 0,
+ * que o Redis ordena pelo texto do id. A listagem paginada é um ZRANGEBYLEX a partir do último id da página
+ * anterior, O(log N + página), com ordem estável; o set "Session" do repositório não tem ordem e só dá para
+ * ler inteiro. O índice é atualizado junto com as gravações, acertado com o set na subida e periodicamente,
+ * e perde os ids sem sessão conforme a listagem os encontra.
+ */
 @Service
 public class SessionService {
+    private static final Logger logger = LoggerFactory.getLogger(SessionService.class);
+    private static final String KEYSPACE = "Session";
+    private static final String INDEX_KEY = KEYSPACE + ":ordered";
+    private static final int INDEX_BATCH_SIZE = 1000;
 
     private final SessionRepository sessionRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final NdjsonExportService ndjsonExportService;
 
-    public SessionService(SessionRepository sessionRepository) {
+    public SessionService(SessionRepository sessionRepository, StringRedisTemplate stringRedisTemplate,
+                          NdjsonExportService ndjsonExportService) {
         this.sessionRepository = sessionRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ndjsonExportService = ndjsonExportService;
     }
 
     public Session saveSession(Session session) {
-        return sessionRepository.save(session);
+        Session saved = sessionRepository.save(session);
+        stringRedisTemplate.opsForZSet().add(INDEX_KEY, saved.getId(), 0);
+        return saved;
     }
 
-    public List<Session> getSessions() {
-        List<Session> sessions = new ArrayList<>();
-        sessionRepository.findAll().forEach(sessions::add);
-        return !sessions.isEmpty() ? sessions : null;
+    /**
+     * Ids do índice sem sessão (expirada ou apagada por outra instância) são tirados do índice ao serem lidos;
+     * a página pode vir menor, ou vazia, mas o cursor segue o índice até o fim.
+     *
+     * @return página de sessões em ordem de id, depois do cursor; null se não há mais.
+     */
+    public CursorPage<Session> getSessions(String cursor, int size) {
+        String after = CursorUtils.decodeString(cursor);
+        Range<String> range = after == null ? Range.unbounded() : Range.rightUnbounded(Range.Bound.exclusive(after));
+        Set<String> read = stringRedisTemplate.opsForZSet().rangeByLex(INDEX_KEY, range, Limit.limit().count(size + 1));
+        if (read == null || read.isEmpty()) return null;
+
+        List<String> ids = new ArrayList<>(read);
+        boolean hasMore = ids.size() > size;
+        if (hasMore) ids = ids.subList(0, size);
+
+        Map<String, Session> byId = new HashMap<>();
+        for (Session session : sessionRepository.findAllById(ids)) byId.put(session.getId(), session);
+        List<Session> sessions = new ArrayList<>(ids.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            Session session = byId.get(id);
+            if (session != null) sessions.add(session);
+            else missing.add(id);
+        }
+        if (!missing.isEmpty()) stringRedisTemplate.opsForZSet().remove(INDEX_KEY, missing.toArray());
+        return CursorUtils.pageByIndex(sessions, ids.get(ids.size() - 1), hasMore);
+    }
+
+    /**
+     * Escreve todas as sessões em NDJSON, em ordem de id. Lê o índice em páginas, então só uma página fica em memória.
+     *
+     * @return quantidade de sessões escritas.
+     */
+    public long exportSessions(OutputStream out) {
+        Stream<Session> sessions = Stream.iterate(getSessions(null, CursorUtils.MAX_PAGE_SIZE), Objects::nonNull,
+                        page -> page.getNextCursor() == null ? null : getSessions(page.getNextCursor(), CursorUtils.MAX_PAGE_SIZE))
+                .flatMap(page -> page.getItems().stream());
+        return ndjsonExportService.write(sessions, out);
+    }
+
+    /**
+     * Acerta o índice com o set "Session" (SSCAN em lotes, ZADD idempotente) na subida e de tempos em tempos:
+     * sessões gravadas por instâncias sem o índice entram nele sem precisar apagá-lo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${delfis.session.index-reconcile-ms:3600000}", fixedDelayString = "${delfis.session.index-reconcile-ms:3600000}")
+    public void indexSessions() {
+        try {
+            ScanOptions options = ScanOptions.scanOptions().count(INDEX_BATCH_SIZE).build();
+            Set<ZSetOperations.TypedTuple<String>> batch = new HashSet<>();
+            long indexed = 0;
+            try (Cursor<String> ids = stringRedisTemplate.opsForSet().scan(KEYSPACE, options)) {
+                while (ids.hasNext()) {
+                    batch.add(ZSetOperations.TypedTuple.of(ids.next(), 0.0));
+                    if (batch.size() == INDEX_BATCH_SIZE) {
+                        indexed += batch.size();
+                        stringRedisTemplate.opsForZSet().add(INDEX_KEY, batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                indexed += batch.size();
+                stringRedisTemplate.opsForZSet().add(INDEX_KEY, batch);
+            }
+            logger.info("Índice de sessões acertado com {} sessões.", indexed);
+        } catch (DataAccessException e) {
+            logger.error("Erro ao acertar o índice de sessões: ", e);
+        }
     }
 
     public Session getUnfinishedSessionByFkAppUserById(long fkAppUserId) {
@@ -54,6 +160,7 @@ public class SessionService {
         if (sessionRepository.findById(id).isEmpty())
             throw new EntityNotFoundException("Sem sessões para o ID enviado.");
         sessionRepository.deleteById(id);
+        stringRedisTemplate.opsForZSet().remove(INDEX_KEY, id);
         return sessionRepository.findById(id).isEmpty();
     }
 
@@ -0,0 +1,93 @@
+package goldenage.delfis.api.common.util;
+
+import goldenage.delfis.api.common.model.CursorPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * O cursor é opaco para o cliente, mas precisa voltar exatamente o último ID da página e recusar o que não é cursor.
+ */
+class CursorUtilsTest {
+
+    @Test
+    void noCursorStartsFromTheBeginning() {
+        assertEquals(0, CursorUtils.decodeLong(null));
+        assertEquals(0, CursorUtils.decodeLong(" "));
+        assertNull(CursorUtils.decodeString(null));
+        assertNull(CursorUtils.decodeString(""));
+    }
+
+    @Test
+    void numericCursorDecodesToTheLastIdOfThePage() {
+        CursorPage<Long> page = CursorUtils.page(List.of(3L, 7L, 9L), 2, Function.identity());
+        assertEquals(List.of(3L, 7L), page.getItems());
+        assertEquals(7, CursorUtils.decodeLong(page.getNextCursor()));
+    }
+
+    @Test
+    void stringCursorDecodesToTheLastIdOfThePage() {
+        CursorPage<String> page = CursorUtils.pageByString(List.of("a-1", "b/2", "ç3"), 2, Function.identity());
+        assertEquals(List.of("a-1", "b/2"), page.getItems());
+        assertEquals("b/2", CursorUtils.decodeString(page.getNextCursor()));
+    }
+
+    @Test
+    void fullPageWithoutExtraItemIsTheLast() {
+        CursorPage<Long> page = CursorUtils.page(List.of(1L, 2L), 2, Function.identity());
+        assertEquals(List.of(1L, 2L), page.getItems());
+        assertNull(page.getNextCursor());
+
+        assertNull(CursorUtils.page(List.<Long>of(), 2, Function.identity()));
+        assertNull(CursorUtils.pageByString(List.<String>of(), 2, Function.identity()));
+    }
+
+    @Test
+    void indexPageFollowsTheIndexEvenWithoutItems() {
+        CursorPage<String> empty = CursorUtils.pageByIndex(List.of(), "k9", true);
+        assertTrue(empty.getItems().isEmpty());
+        assertEquals("k9", CursorUtils.decodeString(empty.getNextCursor()));
+
+        CursorPage<String> partial = CursorUtils.pageByIndex(List.of("k1"), "k5", true);
+        assertEquals("k5", CursorUtils.decodeString(partial.getNextCursor()));
+
+        assertNull(CursorUtils.pageByIndex(List.of("k1"), "k5", false).getNextCursor());
+        assertNull(CursorUtils.pageByIndex(List.of(), "k5", false));
+    }
+
+    @Test
+    void cursorOfOneKindIsRejectedByTheOther() {
+        String longCursor = CursorUtils.page(List.of(1L, 2L), 1, Function.identity()).getNextCursor();
+        String stringCursor = CursorUtils.pageByString(List.of("1", "2"), 1, Function.identity()).getNextCursor();
+        assertThrows(IllegalArgumentException.class, () -> CursorUtils.decodeString(longCursor));
+        assertThrows(IllegalArgumentException.class, () -> CursorUtils.decodeLong(stringCursor));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"não é base64", "aTp4", "eDox"})
+    void invalidCursorIsRejected(String cursor) {
+        assertThrows(IllegalArgumentException.class, () -> CursorUtils.decodeLong(cursor));
+    }
+
+    @Test
+    void cursorHasNoPadding() {
+        String cursor = CursorUtils.page(List.of(1L, 2L), 1, Function.identity()).getNextCursor();
+        assertFalse(cursor.contains("="));
+        assertEquals("i:1", new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void pageSizeOutOfBoundsIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CursorUtils.verifyPageSize(0));
+        assertThrows(IllegalArgumentException.class, () -> CursorUtils.verifyPageSize(CursorUtils.MAX_PAGE_SIZE + 1));
+        assertDoesNotThrow(() -> CursorUtils.verifyPageSize(1));
+        assertDoesNotThrow(() -> CursorUtils.verifyPageSize(CursorUtils.MAX_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,97 @@
+package goldenage.delfis.api.mongo.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A forma compacta (células, bitset das fixas e solução em meio byte) é o que vai para o Mongo e para a API:
+ * ida e volta tem que devolver o mesmo tabuleiro, as mesmas células fixas e a mesma solução.
+ */
+class SudokuCodecTest {
+
+    @ParameterizedTest
+    @EnumSource(SudokuType.class)
+    void cellsAndGivensRoundTrip(SudokuType type) {
+        Sudoku puzzle = withPlayerMove(SudokuGenerator.generateSeededSudoku(type, SudokuDifficulty.MEDIUM, 2024L));
+
+        Sudoku decoded = SudokuCodec.decode(type, SudokuCodec.encodeCells(puzzle), SudokuCodec.encodeGivens(puzzle));
+
+        assertEquals(type, decoded.getType());
+        assertArrayEquals(puzzle.getBoard(), decoded.getBoard());
+        assertArrayEquals(puzzle.getMutable(), decoded.getMutable());
+    }
+
+    @ParameterizedTest
+    @EnumSource(SudokuType.class)
+    void solutionPackRoundTrip(SudokuType type) {
+        byte[] solution = SudokuGenerator.generateSeededSudoku(type, SudokuDifficulty.EASY, 7L).getSolution();
+
+        byte[] packed = SudokuCodec.packSolution(solution);
+
+        assertEquals((solution.length + 1) / 2, packed.length);
+        assertArrayEquals(solution, SudokuCodec.unpackSolution(packed, solution.length));
+    }
+
+    @Test
+    void packKeepsEveryValueOfTheLargestBoard() {
+        byte[] solution = new byte[17];
+        for (int cell = 0; cell < solution.length; cell++) solution[cell] = (byte) (cell % 16 + 1);
+
+        assertArrayEquals(solution, SudokuCodec.unpackSolution(SudokuCodec.packSolution(solution), solution.length));
+    }
+
+    @Test
+    void decodeWithoutGivensLeavesEveryCellMutable() {
+        Sudoku puzzle = SudokuGenerator.generateSeededSudoku(SudokuType.NINEBYNINE, SudokuDifficulty.HARD, 99L);
+
+        Sudoku decoded = SudokuCodec.decode(SudokuType.NINEBYNINE, SudokuCodec.encodeCells(puzzle), null);
+
+        assertArrayEquals(puzzle.getBoard(), decoded.getBoard());
+        for (boolean[] row : decoded.getMutable()) {
+            for (boolean mutable : row) assertTrue(mutable);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(SudokuType.class)
+    void compactSudokuRoundTrip(SudokuType type) {
+        Sudoku puzzle = withPlayerMove(SudokuGenerator.generateSeededSudoku(type, SudokuDifficulty.HARD, 31L));
+        puzzle.setId("66f1c2a9e4b0a1b2c3d4e5f6");
+
+        CompactSudoku compact = CompactSudoku.of(puzzle);
+        Sudoku restored = compact.toSudoku();
+
+        assertEquals(type.getRows() * type.getColumns(), compact.getCells().length());
+        assertArrayEquals(SudokuCodec.encodeGivens(puzzle), Base64.getDecoder().decode(compact.getGivens()));
+        assertEquals(puzzle.getId(), restored.getId());
+        assertEquals(puzzle.getType(), restored.getType());
+        assertEquals(puzzle.getDifficulty(), restored.getDifficulty());
+        assertEquals(puzzle.getDifficultyScore(), restored.getDifficultyScore());
+        assertEquals(puzzle.getSeed(), restored.getSeed());
+        assertArrayEquals(puzzle.getBoard(), restored.getBoard());
+        assertArrayEquals(puzzle.getMutable(), restored.getMutable());
+        assertNull(restored.getSolution());
+    }
+
+    /*
+     * Preenche a primeira célula livre com a solução, como uma jogada: valor presente mas célula mutável.
+     * */
+    private static Sudoku withPlayerMove(Sudoku puzzle) {
+        int columns = puzzle.getNumColumns();
+        for (int cell = 0; cell < puzzle.getSolution().length; cell++) {
+            int row = cell / columns;
+            int col = cell % columns;
+            if (puzzle.isSlotMutable(row, col)) {
+                String value = puzzle.getValidValues()[puzzle.getSolution()[cell] - 1];
+                assertTrue(puzzle.makeMove(row, col, value, true));
+                return puzzle;
+            }
+        }
+        return puzzle;
+    }
+}
@@ -0,0 +1,77 @@
+package goldenage.delfis.api.mongo.model;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Sudokus salvos por semente guardam só o código; o tabuleiro e a solução são gerados de novo a cada leitura.
+ * Estes códigos fixam o puzzle de cada versão do gerador: se algum mudar, puzzles salvos mudam junto.
+ * Os da versão 1 foram gerados pelo solver recursivo original.
+ */
+class SudokuSeedStabilityTest {
+
+    static Stream<Arguments> version1() {
+        return Stream.of(
+            Arguments.of("SIXBYSIX-1-EASY-63z",
+                    "3.4..1.563...3.......43.54..1.6..254",
+                    "213450045231324015150324431502502143"),
+            Arguments.of("NINEBYNINE-1-MEDIUM-ofw",
+                    ".....8.9424..1.8....6.24.3.3.41.9.....5......6....53.........12.1.4..685.8...1...",
+                    "620457183138602745745813026213068457064275318587134260352746801806321574471580632"),
+            Arguments.of("TWELVEBYTWELVE-1-HARD-c7y",
+                    ".A..9.......234.A.C.1..BB..9........9...C.3.4..8....7.8...6.678C...9B.2..5.3.C.7.2......3..B.41.7.1.54.A3B...8.A....95.7.9...5...6...B.7..A18...",
+                    "79b086a31245123495b7068aa5681204b7938041ba253967239a6071485b567b3948a01234a20b8651799b85271a6304610743592ab80759a13b8426b813746295a04a2658907b31"),
+            Arguments.of("SIXTEENBYSIXTEEN-1-EXPERT-63z",
+                    "...C9.41.A..5.8..23.7..E......9AB974..3....E.F.118..5..69G..C.2.C5.EB..D.39A.8....2..7..6...3C594....3..82.5....A38.G.25.F...46..4.B..5.A............DE.G1546...5.1.F6BGE7..93..7.E..91.B...82.5.CAG4.....F.1..2.6....A.3E.B7....D...E.......B4.3.B.D....8A2...6",
+                    "5deb8f3019c2467af1246bcdea703589a863192745bdcef007c94ae58f36bd12b4fda35c0289176ec01ed67953af2b483a56b28e71d4f09c9278f014be6ca35d73ba2146985edc0f1e827cdbf04359a6490ce5afd61782b36fd59803ac2b71e4db9f376ac4e5082185370e912dfa64cbec415df26b089a3726a0c4b83791efd5"));
+    }
+
+    static Stream<Arguments> version2() {
+        return Stream.of(
+            Arguments.of("SIXBYSIX-2-HARD-ofw",
+                    "6.23.5..3....4..1.1....3.........12.",
+                    "501234342150234501015342150423423015"),
+            Arguments.of("NINEBYNINE-2-EXPERT-c7y",
+                    ".1...8.3....3..8....8..2.97563...........7..1.2..9..6..........64....5....17.5..3",
+                    "305867124861245703247301586452073618783516240016482357624138075538720461170654832"),
+            Arguments.of("TWELVEBYTWELVE-2-MEDIUM-ibx",
+                    ".B.........3.9.....14.......763.8....4A5.7B...9.76.2.9.31A..B......5..C...9.4.5..........3.672.....1.A...C49..43B....96.126....A...B.....16...37",
+                    "4a6597b38012782b4a103569901365287a4b239406ab578165b1783209a4a708519426b316893b47a2053b4a820561975270196a4b38b932a476185001562389b47a84a7b0519326"),
+            Arguments.of("SIXTEENBYSIXTEEN-2-EASY-10nu",
+                    "..DAG..4B....E124E56A.F.8..9C...C.F..597.E.3...........C45....A..7..........D..E..A.....E...2BC..4.B.9CEDF.1.6G.E...4....78B.....D.CFE..G.B..24.A5G.2C.1.D3.B89F..7...5..8.....A8.4..DBA.9.E..3C.2...1A35.9D.C.G19B5.4EF.....3.DG..7....34...986.3..6...F..A..B5",
+                    "87c9f523ab6e4d013d459ae170f8b6c2bae0c4869d123f576f12d70b34c58e9a467f291a85b3c0ed5e98067cd24f1ab3132a48bdce9075f6db0c3ef5167a29482c8bed57f9a4613094fd1b305c26a78ea06e824fb7315cd975316ca908edf42be15370924a8cdb6f08a4b3de6f57921cf9d6a1c4230be875c2b75f68e1d903a4"));
+    }
+
+    @ParameterizedTest
+    @MethodSource({"version1", "version2"})
+    void seedAlwaysGeneratesTheSamePuzzle(String code, String cells, String solution) {
+        Sudoku puzzle = SudokuGenerator.generateSeededSudoku(SudokuSeed.parse(code));
+
+        assertEquals(code, puzzle.getSeed());
+        assertEquals(cells, SudokuCodec.encodeCells(puzzle));
+        assertEquals(solution, hex(puzzle.getSolution()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("version2")
+    void uncachedGenerationMatchesTheSeed(String code, String cells, String solution) {
+        SudokuSeed seed = SudokuSeed.parse(code);
+        Sudoku puzzle = SudokuGenerator.generateNewSeededSudoku(seed.getType(), seed.getTarget(), seed.getSeed());
+
+        assertEquals(code, puzzle.getSeed());
+        assertEquals(cells, SudokuCodec.encodeCells(puzzle));
+        assertEquals(solution, hex(puzzle.getSolution()));
+    }
+
+    // solução como um dígito hexadecimal (valor - 1) por célula
+    private static String hex(byte[] solution) {
+        StringBuilder hex = new StringBuilder(solution.length);
+        for (byte value : solution) hex.append(Character.forDigit(value - 1, 16));
+        return hex.toString();
+    }
+}
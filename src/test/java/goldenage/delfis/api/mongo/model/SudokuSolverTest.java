@@ -0,0 +1,138 @@
+package goldenage.delfis.api.mongo.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Solver de bitmasks: o grid resolvido respeita linhas, colunas e caixas de cada tipo, a contagem de soluções
+ * separa puzzle único de ambíguo e as buscas que não chegam ao fim devolvem o grid como estava.
+ */
+class SudokuSolverTest {
+    private static final String PUZZLE = "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+    private static final String SOLUTION = "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+
+    @ParameterizedTest
+    @EnumSource(SudokuType.class)
+    void solvesAnEmptyBoardIntoAValidGrid(SudokuType type) {
+        SudokuSolver deterministic = new SudokuSolver(type);
+        assertTrue(deterministic.solve(null));
+        assertValid(type, deterministic.getGrid());
+
+        SudokuSolver random = new SudokuSolver(type);
+        assertTrue(random.solve(new SplittableRandom(5)));
+        assertTrue(random.isFull());
+        assertValid(type, random.getGrid());
+    }
+
+    @Test
+    void solvesAKnownPuzzleToItsOnlySolution() {
+        SudokuSolver solver = load(PUZZLE);
+
+        assertEquals(1, solver.countSolutions(2, SudokuSolver.NO_DEADLINE));
+        assertEquals(PUZZLE.replace(".", "").length(), solver.getFilled());
+        assertTrue(solver.solve(new SplittableRandom(1)));
+        assertEquals(SOLUTION, digits(solver.getGrid()));
+    }
+
+    @Test
+    void countsMoreThanOneSolutionWhenGivensAreMissing() {
+        // retângulo com 1 e 3 trocáveis nas linhas 3 e 4, colunas 5 e 8: exatamente duas soluções
+        StringBuilder cells = new StringBuilder(SOLUTION);
+        for (int cell : new int[]{32, 35, 41, 44}) cells.setCharAt(cell, '.');
+        SudokuSolver solver = load(cells.toString());
+
+        assertEquals(2, solver.countSolutions(3, SudokuSolver.NO_DEADLINE));
+        assertEquals(SOLUTION.length() - 4, solver.getFilled());
+        assertEquals(2, new SudokuSolver(SudokuType.NINEBYNINE).countSolutions(2, SudokuSolver.NO_DEADLINE));
+    }
+
+    @Test
+    void reportsAContradictionAsUnsolvableAndKeepsTheGivens() {
+        // a célula (0, 8) fica sem candidatos: 1..8 na linha e 9 na coluna
+        SudokuSolver solver = load("12345678.........9" + ".".repeat(63));
+        byte[] before = solver.getGrid();
+
+        assertEquals(SudokuSolver.UNSOLVABLE, solver.solve(null, Long.MAX_VALUE, SudokuSolver.NO_DEADLINE, () -> false));
+        assertArrayEquals(before, solver.getGrid());
+        assertEquals(0, solver.countSolutions(2, SudokuSolver.NO_DEADLINE));
+    }
+
+    @Test
+    void abortsOnTheNodeBudgetAndRestoresTheGrid() {
+        SudokuSolver solver = load(PUZZLE);
+        byte[] before = solver.getGrid();
+
+        assertEquals(SudokuSolver.ABORTED, solver.solve(null, 3, SudokuSolver.NO_DEADLINE, () -> false));
+        assertArrayEquals(before, solver.getGrid());
+        assertEquals(-1, new SudokuSolver(SudokuType.SIXTEENBYSIXTEEN).countSolutions(2, SudokuSolver.NO_DEADLINE, 10));
+    }
+
+    @Test
+    void placeRejectsConflictsAndRemoveFreesTheValue() {
+        SudokuSolver solver = new SudokuSolver(SudokuType.NINEBYNINE);
+        assertTrue(solver.place(0, 5));
+
+        assertFalse(solver.place(8, 5), "mesma linha");
+        assertFalse(solver.place(72, 5), "mesma coluna");
+        assertFalse(solver.place(20, 5), "mesma caixa");
+        assertFalse(solver.place(0, 3), "célula ocupada");
+        assertTrue(solver.place(30, 5), "outra linha, coluna e caixa");
+
+        solver.remove(0);
+        assertEquals(0, solver.getValue(0));
+        assertTrue(solver.place(8, 5));
+    }
+
+    @ParameterizedTest
+    @EnumSource(SudokuType.class)
+    void boxesFollowTheTypeDimensions(SudokuType type) {
+        SudokuSolver solver = new SudokuSolver(type);
+        int size = solver.getSize();
+        assertTrue(solver.place(0, 1));
+
+        // última célula da primeira caixa e primeira célula fora dela na mesma diagonal
+        int lastInBox = (type.getBoxHeight() - 1) * size + type.getBoxWidth() - 1;
+        int outsideBox = type.getBoxHeight() * size + type.getBoxWidth();
+        assertEquals(0, solver.candidates(lastInBox) & 1);
+        assertEquals(1, solver.candidates(outsideBox) & 1);
+    }
+
+    private static SudokuSolver load(String cells) {
+        SudokuSolver solver = new SudokuSolver(SudokuType.NINEBYNINE);
+        for (int cell = 0; cell < cells.length(); cell++) {
+            if (cells.charAt(cell) != '.') assertTrue(solver.place(cell, cells.charAt(cell) - '0'));
+        }
+        return solver;
+    }
+
+    private static String digits(byte[] grid) {
+        StringBuilder digits = new StringBuilder(grid.length);
+        for (byte value : grid) digits.append(value);
+        return digits.toString();
+    }
+
+    private static void assertValid(SudokuType type, byte[] grid) {
+        int size = type.getRows();
+        int full = (1 << size) - 1;
+        for (int i = 0; i < size; i++) {
+            int row = 0;
+            int col = 0;
+            int box = 0;
+            int boxRow = i / (size / type.getBoxWidth()) * type.getBoxHeight();
+            int boxCol = i % (size / type.getBoxWidth()) * type.getBoxWidth();
+            for (int j = 0; j < size; j++) {
+                row |= 1 << (grid[i * size + j] - 1);
+                col |= 1 << (grid[j * size + i] - 1);
+                box |= 1 << (grid[(boxRow + j / type.getBoxWidth()) * size + boxCol + j % type.getBoxWidth()] - 1);
+            }
+            assertEquals(full, row, "linha " + i);
+            assertEquals(full, col, "coluna " + i);
+            assertEquals(full, box, "caixa " + i);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package goldenage.delfis.api.mongo.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Caça-palavras salvos por semente guardam só tamanho, palavras, semente e versão do gerador; o grid é gerado
+ * de novo na leitura. Estes casos fixam o grid de cada versão: se algum mudar, caça-palavras salvos mudam junto.
+ * Os da versão 1 foram gerados pelo gerador original, os da 2 pelo primeiro WordSearchGridBuilder.
+ */
+class WordSearchRegenerationTest {
+
+    static Stream<Arguments> version1() {
+        return Stream.of(
+            Arguments.of(1, 6, List.of("JAVA", "JPA", "SQL"), 42L,
+                    "CAWAOUJBAIAISSFMPJQQEXJALDGZPVGLWAZA"),
+            Arguments.of(1, 10, List.of("DELFIS", "SUDOKU", "PALAVRA", "JOGO"), 4242L,
+                    "BTDWEEMPVZGSIFLEDYFAASQARVALAPRJEVRYFQJFBKISJCOZREDEHXUSLHTZFTKXEDNQLKGODTYKOQHNMNSYATQKKYPROOGOJFUM"),
+            Arguments.of(1, 12, List.of("DESAFIO", "LOGICA", "MEMORIA", "ENIGMA", "SPRING", "REDIS"), -7L,
+                    "ORDLVKZTPTPXFREHBVHMDGUYHOSQTQMEHEFYADAACIGOLNXVIQFSCXTAOIPKHRILUXLAPGPYGSOROLTVDMADEKRINKEUTACWUMEMORIABVDSUSSXSIDERPOLPIYESSCJZONYYANBXGNIRPSR"),
+            Arguments.of(1, 5, List.of("CASA", "ASA", "SACO", "COCA", "ACASO"), 123456789L,
+                    "ACASOCOCASARECASBFOSAERCA"),
+            Arguments.of(1, 4, List.of("DESENVOLVIMENTO", "SOL", "MAR"), 99L,
+                    "AMDZZAUHVRRMKLOS"));
+    }
+
+    static Stream<Arguments> version2() {
+        return Stream.of(
+            Arguments.of(2, 6, List.of("JAVA", "JPA", "SQL"), 42L,
+                    "SGBKNMSCJCZUSQLBQSXAAVAJLAPDDJNIJGDZ"),
+            Arguments.of(2, 10, List.of("DELFIS", "SUDOKU", "PALAVRA", "JOGO"), 4242L,
+                    "ZCJMCXPBBIVEDDLXRRPINQNHEJEGASTBYPALNMMSROIARBFYHUOGALBYEIKDKORAEHUFSOBJGVXDNBRKHBJRXKVLTUEDVATSJPHV"),
+            Arguments.of(2, 12, List.of("DESAFIO", "LOGICA", "MEMORIA", "ENIGMA", "SPRING", "REDIS"), -7L,
+                    "VMZTBPTPDJBHRLWYUZSVEWLXIKOCFERLZNUUVVOGZPOHIJRUYGOKINJJSXOEZGUZMCVAVPONLJRAAZAQGXMIXFEPXKSPRINGARDMAPESBFMMNBIQUQMETQDACCSJIDESAFIOZBGAIROMEMEX"),
+            Arguments.of(2, 5, List.of("CASA", "ASA", "SACO", "COCA", "ACASO"), 123456789L,
+                    "MACOCACASOSSACOAASAZCLEIP"),
+            Arguments.of(2, 4, List.of("DESENVOLVIMENTO", "SOL", "MAR"), 99L,
+                    "SMARDJXDDSOLADZZ"));
+    }
+
+    static Stream<Arguments> version3() {
+        return Stream.of(
+            Arguments.of(6, List.of("JAVA", "JPA", "SQL"), 42L,
+                    "XUDSYJFBLQSDLMQJLHJPAVAJRAXFKVVPOAVH", List.of()),
+            Arguments.of(10, List.of("DELFIS", "SUDOKU", "PALAVRA", "JOGO"), 4242L,
+                    "ESBCMTMOLHMCTPALAVRAVSJSRETSSPFVKIHKTZUXDOBFJBLJZOBQXLOPZAMREMUEGDDOSWSSUDOKUFYUXVUNTGYEWNYCSQLJTLFV", List.of()),
+            Arguments.of(12, List.of("DESAFIO", "LOGICA", "MEMORIA", "ENIGMA", "SPRING", "REDIS"), -7L,
+                    "SYAXIWRCMCZJIYUSVZTBDSQGKPSSQJUIQQFEAHYDQSTKQIEZGTNAHCYOJIYXVDLWCMWFWFOACDCRGIETHTZGFTWENIGMAHPOWNLDIJLOOLHMYVPIRTOOLRXDFKASPDESAFIOZBRFSOXZRLAA", List.of()),
+            Arguments.of(5, List.of("CASA", "ASA", "SACO", "COCA", "ACASO"), 123456789L,
+                    "OTACXSBKOPASACOCSMAQACADF", List.of()),
+            Arguments.of(4, List.of("DESENVOLVIMENTO", "SOL", "MAR"), 99L,
+                    "HLNIRAMXWSOLNLBW", List.of("DESENVOLVIMENTO")));
+    }
+
+    @ParameterizedTest
+    @MethodSource({"version1", "version2"})
+    void savedSeedRegeneratesTheSameGrid(int version, int gridSize, List<String> words, long seed, String cells) {
+        WordSearch wordSearch = regenerate(gridSize, words, seed, version);
+
+        assertEquals(cells, letters(wordSearch));
+        assertEquals(words, wordSearch.getWords());
+    }
+
+    @ParameterizedTest
+    @MethodSource("version3")
+    void version3RegeneratesTheSameGridAndPlacements(int gridSize, List<String> requested, long seed, String cells, List<String> unplaced) {
+        WordSearch generated = WordSearch.fromSeed(gridSize, requested, seed);
+        assertEquals(cells, letters(generated));
+        assertEquals(unplaced, generated.getUnplacedWords());
+        assertPlacementsMatchGrid(generated);
+
+        // como fica salvo: words só com as colocadas, as outras em unplacedWords
+        WordSearch saved = new WordSearch();
+        saved.setGridSize(gridSize);
+        saved.setWords(new ArrayList<>(generated.getWords()));
+        saved.setUnplacedWords(new ArrayList<>(generated.getUnplacedWords()));
+        saved.setSeed(seed);
+        saved.setGeneratorVersion(3);
+        saved.regenerateGrid();
+
+        assertEquals(cells, letters(saved));
+        assertEquals(generated.getWords(), saved.getWords());
+        assertEquals(unplaced, saved.getUnplacedWords());
+        assertEquals(generated.getPlacements(), saved.getPlacements());
+    }
+
+    @Test
+    void everyVersionDiffersForTheSameSeed() {
+        List<String> words = List.of("DELFIS", "SUDOKU", "PALAVRA", "JOGO");
+        String v1 = letters(regenerate(10, words, 4242L, 1));
+        String v2 = letters(regenerate(10, words, 4242L, 2));
+        String v3 = letters(regenerate(10, words, 4242L, 3));
+
+        assertNotEquals(v1, v2);
+        assertNotEquals(v2, v3);
+        assertNotEquals(v1, v3);
+    }
+
+    @Test
+    void unknownVersionIsRejected() {
+        WordSearch wordSearch = new WordSearch();
+        wordSearch.setGridSize(6);
+        wordSearch.setWords(List.of("JAVA"));
+        wordSearch.setSeed(1L);
+        wordSearch.setGeneratorVersion(WordSearch.GENERATOR_VERSION + 1);
+
+        assertThrows(IllegalArgumentException.class, wordSearch::regenerateGrid);
+    }
+
+    private static WordSearch regenerate(int gridSize, List<String> words, long seed, int version) {
+        WordSearch wordSearch = new WordSearch();
+        wordSearch.setGridSize(gridSize);
+        wordSearch.setWords(new ArrayList<>(words));
+        wordSearch.setSeed(seed);
+        wordSearch.setGeneratorVersion(version);
+        wordSearch.regenerateGrid();
+        return wordSearch;
+    }
+
+    private static String letters(WordSearch wordSearch) {
+        return new String(WordSearchGridBuilder.cells(wordSearch.getGrid(), wordSearch.getGridSize()));
+    }
+
+    private static void assertPlacementsMatchGrid(WordSearch wordSearch) {
+        assertEquals(wordSearch.getWords().size(), wordSearch.getPlacements().size());
+        for (WordSearchPlacement placement : wordSearch.getPlacements()) {
+            assertEquals(placement.getWord(), wordSearch.readSelection(placement.getRow(), placement.getCol(), placement.endRow(), placement.endCol()));
+        }
+    }
+}
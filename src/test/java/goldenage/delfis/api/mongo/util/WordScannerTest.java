@@ -0,0 +1,111 @@
+package goldenage.delfis.api.mongo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Confere o autômato contra a busca ingênua (cada palavra, cada célula, cada direção) em grids e dicionários
+ * sorteados com poucas letras, para ter muitos prefixos, sufixos e palavras dentro de outras.
+ */
+class WordScannerTest {
+    // as seis direções do jogo: horizontal, vertical e a diagonal principal, nos dois sentidos
+    private static final int[][] DIRECTIONS = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}, {1, 1}, {-1, -1}};
+
+    @Test
+    void scanFindsTheSameOccurrencesAsBruteForce() {
+        Random random = new Random(17);
+        for (int round = 0; round < 300; round++) {
+            int gridSize = 1 + random.nextInt(9);
+            char[] cells = randomGrid(random, gridSize);
+            List<String> dictionary = randomDictionary(random);
+            WordScanner scanner = new WordScanner(dictionary);
+
+            List<String> found = new ArrayList<>();
+            scanner.scan(cells, gridSize, (word, start, end) -> found.add(scanner.word(word) + ":" + start + ":" + end));
+
+            List<String> expected = bruteForce(cells, gridSize, new HashSet<>(dictionary));
+            Collections.sort(found);
+            Collections.sort(expected);
+            assertEquals(expected, found, "grid " + new String(cells) + " dicionário " + dictionary);
+        }
+    }
+
+    @Test
+    void containsMatchesTheDictionary() {
+        Random random = new Random(23);
+        for (int round = 0; round < 200; round++) {
+            List<String> dictionary = randomDictionary(random);
+            Set<String> reference = new HashSet<>(dictionary);
+            WordScanner scanner = new WordScanner(dictionary);
+
+            for (int probe = 0; probe < 50; probe++) {
+                String text = randomWord(random, random.nextInt(6));
+                assertEquals(reference.contains(text) && !text.isEmpty(), scanner.contains(text), text);
+            }
+            for (String word : dictionary) assertTrue(scanner.contains(word), word);
+        }
+    }
+
+    @Test
+    void ignoresWordsWithCharactersOutsideAToZ() {
+        WordScanner scanner = new WordScanner(List.of("CASA", "casa", "AÇAÍ", "A B", "", "CASA"));
+
+        assertEquals(1, scanner.size());
+        assertEquals("CASA", scanner.word(0));
+        assertFalse(scanner.contains("casa"));
+        assertFalse(scanner.contains("AÇAÍ"));
+    }
+
+    private static List<String> bruteForce(char[] cells, int gridSize, Set<String> dictionary) {
+        List<String> found = new ArrayList<>();
+        for (String word : dictionary) {
+            if (word.isEmpty()) continue;
+            for (int row = 0; row < gridSize; row++) {
+                for (int col = 0; col < gridSize; col++) {
+                    for (int[] direction : DIRECTIONS) {
+                        int endRow = row + direction[0] * (word.length() - 1);
+                        int endCol = col + direction[1] * (word.length() - 1);
+                        if (endRow < 0 || endRow >= gridSize || endCol < 0 || endCol >= gridSize) continue;
+
+                        boolean matches = true;
+                        for (int i = 0; i < word.length() && matches; i++) {
+                            matches = cells[(row + direction[0] * i) * gridSize + col + direction[1] * i] == word.charAt(i);
+                        }
+                        if (matches) found.add(word + ":" + (row * gridSize + col) + ":" + (endRow * gridSize + endCol));
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private static char[] randomGrid(Random random, int gridSize) {
+        char[] cells = new char[gridSize * gridSize];
+        for (int cell = 0; cell < cells.length; cell++) {
+            // de vez em quando uma célula que não é letra, que interrompe as palavras
+            cells[cell] = random.nextInt(20) == 0 ? '.' : (char) ('A' + random.nextInt(3));
+        }
+        return cells;
+    }
+
+    private static List<String> randomDictionary(Random random) {
+        List<String> dictionary = new ArrayList<>();
+        int words = 1 + random.nextInt(12);
+        for (int i = 0; i < words; i++) dictionary.add(randomWord(random, 1 + random.nextInt(5)));
+        return dictionary;
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) word.append((char) ('A' + random.nextInt(3)));
+        return word.toString();
+    }
+}